@@ -0,0 +1,215 @@
+package com.crms.benchmark;
+
+import com.crms.analytics.AnalyticsCounters;
+import com.crms.analytics.AnalyticsService;
+import com.crms.analytics.QuantileSketch;
+import com.crms.analytics.TrendGranularity;
+import com.crms.analytics.rollup.AnalyticsRollupService;
+import com.crms.analytics.rollup.CrimeReportDailyRollup;
+import com.crms.case_management.Case;
+import com.crms.crime.CrimeReport;
+import com.crms.crime.CrimeReportRepository;
+import com.crms.department.Department;
+import com.crms.jurisdiction.Jurisdiction;
+import com.crms.role.Role;
+import com.crms.user.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceTransactionManagerAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.JdbcTemplateAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.autoconfigure.transaction.TransactionAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code AnalyticsService} against an in-memory H2 database seeded with {@code rows}
+ * reports and cases. Only the JDBC, JPA and transaction auto-configuration is started,
+ * so the real repositories, rollup service and counters run unchanged; the schema comes
+ * from the entities. {@code loadAllAndCountInJava} is the original approach (load every
+ * report and count in memory). Seed size is set with {@code -p rows=...}.
+ * <p>
+ * {@code getCaseResolutionStats} is not covered: it streams with the MySQL-only fetch size
+ * {@code Integer.MIN_VALUE}, which H2 rejects. {@code quantileSketchInMemory} measures the
+ * sketch it feeds instead.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AnalyticsAggregationBenchmark {
+
+    private static final int HISTORY_DAYS = 365;
+    private static final int USER_COUNT = 50;
+    private static final int DEPARTMENT_COUNT = 5;
+    private static final int SEED_BATCH_SIZE = 1000;
+
+    @Param({"10000", "100000"})
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private AnalyticsService analyticsService;
+    private AnalyticsService queryingAnalyticsService;
+    private CrimeReportRepository crimeReportRepository;
+    private double[] resolutionHours;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(AnalyticsContext.class)
+                .web(WebApplicationType.NONE)
+                .logStartupInfo(false)
+                // Command-line arguments take precedence over the MySQL settings in application.properties
+                .run("--spring.main.banner-mode=off",
+                        "--logging.level.root=WARN",
+                        "--spring.datasource.url=jdbc:h2:mem:analytics;MODE=MySQL;DATABASE_TO_LOWER=TRUE;"
+                                + "DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect");
+
+        seed(context.getBean(JdbcTemplate.class));
+        AnalyticsRollupService rollupService = context.getBean(AnalyticsRollupService.class);
+        rollupService.refreshReportRollups();
+        context.getBean(AnalyticsCounters.class).rebuild();
+
+        analyticsService = context.getBean(AnalyticsService.class);
+        crimeReportRepository = context.getBean(CrimeReportRepository.class);
+
+        // Same service over counters that were never loaded, so the dashboard falls back to queries
+        queryingAnalyticsService = new AnalyticsService();
+        context.getAutowireCapableBeanFactory().autowireBean(queryingAnalyticsService);
+        BenchmarkSupport.setField(queryingAnalyticsService, "analyticsCounters", new AnalyticsCounters());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Map<String, Long> loadAllAndCountInJava() {
+        Map<String, Long> counts = new HashMap<>();
+        for (CrimeReport report : crimeReportRepository.findAll()) {
+            counts.merge(report.getStatus(), 1L, Long::sum);
+        }
+        return counts;
+    }
+
+    @Benchmark
+    public Map<String, Object> dashboardFromCounters() {
+        return analyticsService.getDashboardData();
+    }
+
+    @Benchmark
+    public Map<String, Object> dashboardFromAggregateQueries() {
+        return queryingAnalyticsService.getDashboardData();
+    }
+
+    @Benchmark
+    public Map<String, Object> monthlyTrends() {
+        return analyticsService.getCrimeTrends(12, TrendGranularity.MONTH);
+    }
+
+    @Benchmark
+    public Map<String, Object> dailyTrends() {
+        return analyticsService.getCrimeTrends(30, TrendGranularity.DAY);
+    }
+
+    @Benchmark
+    public double quantileSketchInMemory() {
+        QuantileSketch sketch = new QuantileSketch();
+        for (double hours : resolutionHours) {
+            sketch.add(hours);
+        }
+        return sketch.quantile(0.5) + sketch.quantile(0.9) + sketch.quantile(0.99);
+    }
+
+    private void seed(JdbcTemplate jdbcTemplate) {
+        jdbcTemplate.update("INSERT INTO roles (id, name) VALUES (1, 'OFFICER')");
+        jdbcTemplate.update("INSERT INTO jurisdictions (id, name) VALUES (1, 'Benchmark')");
+        for (int d = 1; d <= DEPARTMENT_COUNT; d++) {
+            jdbcTemplate.update("INSERT INTO departments (id, name, jurisdiction_id) VALUES (?, ?, 1)",
+                    d, "Department " + d);
+        }
+        for (int u = 1; u <= USER_COUNT; u++) {
+            jdbcTemplate.update("INSERT INTO users (id, username, password, full_name, email, role_id, "
+                            + "department_id, is_active) VALUES (?, ?, 'x', ?, ?, 1, ?, TRUE)",
+                    u, "officer" + u, "Officer " + u, "officer" + u + "@crms.local", 1 + u % DEPARTMENT_COUNT);
+        }
+        for (int c = 1; c <= BenchmarkSupport.CATEGORY_COUNT; c++) {
+            jdbcTemplate.update("INSERT INTO crime_categories (id, name) VALUES (?, ?)", c, "Category " + c);
+        }
+
+        Random random = new Random(42);
+        LocalDateTime now = LocalDateTime.now();
+        resolutionHours = new double[rows];
+        List<Object[]> reports = new ArrayList<>(SEED_BATCH_SIZE);
+        List<Object[]> cases = new ArrayList<>(SEED_BATCH_SIZE);
+        for (int i = 1; i <= rows; i++) {
+            LocalDateTime createdAt = BenchmarkSupport.randomTimestamp(random, now, HISTORY_DAYS);
+            reports.add(new Object[]{i, "Report " + i, 1 + random.nextInt(BenchmarkSupport.CATEGORY_COUNT),
+                    1 + random.nextInt(USER_COUNT), BenchmarkSupport.pick(random, BenchmarkSupport.REPORT_STATUSES),
+                    Timestamp.valueOf(createdAt), Timestamp.valueOf(createdAt)});
+
+            long hoursOpen = (long) Math.abs(random.nextGaussian() * 24 * 14);
+            resolutionHours[i - 1] = hoursOpen;
+            String status = BenchmarkSupport.pick(random, BenchmarkSupport.CASE_STATUSES);
+            Timestamp closedAt = "Closed".equals(status) ? Timestamp.valueOf(createdAt.plusHours(hoursOpen)) : null;
+            cases.add(new Object[]{i, i, 1 + random.nextInt(USER_COUNT), status, Timestamp.valueOf(createdAt),
+                    closedAt, Timestamp.valueOf(createdAt)});
+
+            if (reports.size() >= SEED_BATCH_SIZE || i == rows) {
+                jdbcTemplate.batchUpdate("INSERT INTO crime_reports (id, title, category_id, reported_by, status, "
+                        + "created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?)", reports);
+                jdbcTemplate.batchUpdate("INSERT INTO cases (id, crime_report_id, assigned_to, status, opened_at, "
+                        + "closed_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?)", cases);
+                reports.clear();
+                cases.clear();
+            }
+        }
+    }
+
+    @Configuration
+    @ImportAutoConfiguration({DataSourceAutoConfiguration.class, DataSourceTransactionManagerAutoConfiguration.class,
+            JdbcTemplateAutoConfiguration.class, HibernateJpaAutoConfiguration.class,
+            TransactionAutoConfiguration.class})
+    @EntityScan(basePackageClasses = {CrimeReport.class, Case.class, User.class, Role.class, Department.class,
+            Jurisdiction.class, CrimeReportDailyRollup.class})
+    @EnableJpaRepositories(basePackageClasses = {CrimeReport.class, Case.class, User.class,
+            CrimeReportDailyRollup.class})
+    @Import({AnalyticsService.class, AnalyticsCounters.class, AnalyticsRollupService.class})
+    static class AnalyticsContext {
+    }
+}
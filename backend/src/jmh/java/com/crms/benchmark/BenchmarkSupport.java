@@ -0,0 +1,40 @@
+package com.crms.benchmark;
+
+import java.lang.reflect.Field;
+import java.time.LocalDateTime;
+import java.util.Random;
+
+/** Helpers shared by the benchmarks; all but the analytics one run without a Spring context. */
+final class BenchmarkSupport {
+
+    static final String[] REPORT_STATUSES = {"Open", "Under Investigation", "Closed"};
+    static final String[] CASE_STATUSES = {"Open", "Under Investigation", "Closed"};
+    static final int CATEGORY_COUNT = 10;
+
+    private BenchmarkSupport() {
+    }
+
+    /** Sets a private field the way Spring would inject it. */
+    static void setField(Object target, String name, Object value) {
+        try {
+            Field field = target.getClass().getDeclaredField(name);
+            field.setAccessible(true);
+            field.set(target, value);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot set field " + name, e);
+        }
+    }
+
+    /**
+     * A timestamp within the {@code days} days before {@code now}. The offsets are fixed per
+     * seed, but the timestamps move with {@code now}: the analytics queries window on the
+     * current date, so seeding relative to a fixed instant would leave their windows empty.
+     */
+    static LocalDateTime randomTimestamp(Random random, LocalDateTime now, int days) {
+        return now.minusMinutes(random.nextInt(days * 24 * 60));
+    }
+
+    static String pick(Random random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+}
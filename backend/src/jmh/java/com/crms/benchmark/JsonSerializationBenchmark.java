@@ -0,0 +1,79 @@
+package com.crms.benchmark;
+
+import com.crms.case_management.dto.CaseDto;
+import com.crms.crime.dto.CrimeReportDto;
+import com.crms.util.CursorPage;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/** Serialization of the report and case list pages, configured like Spring Boot's ObjectMapper. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    @Param({"50", "200"})
+    private int pageSize;
+
+    private ObjectMapper objectMapper;
+    private CursorPage<CrimeReportDto> reportPage;
+    private CursorPage<CaseDto> casePage;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+        Random random = new Random(42);
+        LocalDateTime now = LocalDateTime.now();
+        List<CrimeReportDto> reports = new ArrayList<>(pageSize);
+        List<CaseDto> cases = new ArrayList<>(pageSize);
+        for (long id = 1; id <= pageSize; id++) {
+            LocalDateTime createdAt = BenchmarkSupport.randomTimestamp(random, now, 30);
+            long categoryId = 1 + random.nextInt(BenchmarkSupport.CATEGORY_COUNT);
+            String description = "Reported incident " + id + " near the market. ".repeat(8);
+            reports.add(new CrimeReportDto(id, "Report " + id, description, categoryId, "Category " + categoryId,
+                    "Main Street " + id, 6.9 + random.nextDouble() / 10, 79.8 + random.nextDouble() / 10,
+                    7L, "Citizen Seven", BenchmarkSupport.pick(random, BenchmarkSupport.REPORT_STATUSES),
+                    createdAt, createdAt));
+            cases.add(new CaseDto(id, id, "Report " + id, description.substring(0, 200), 3L, "Officer Three",
+                    BenchmarkSupport.pick(random, BenchmarkSupport.CASE_STATUSES), createdAt, null,
+                    "Follow up with witnesses", createdAt));
+        }
+        reportPage = new CursorPage<>(reports, "cursor", true);
+        casePage = new CursorPage<>(cases, "cursor", true);
+    }
+
+    @Benchmark
+    public byte[] serializeReportPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(reportPage);
+    }
+
+    @Benchmark
+    public byte[] serializeCasePage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(casePage);
+    }
+}
@@ -0,0 +1,63 @@
+package com.crms.benchmark;
+
+import com.crms.role.Role;
+import com.crms.user.User;
+import com.crms.util.JwtUtil;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/** Token issue (login) and token check (every authenticated request). */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtBenchmark {
+
+    private JwtUtil jwtUtil;
+    private User user;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil();
+        BenchmarkSupport.setField(jwtUtil, "secret", "benchmark_secret_that_is_at_least_32_bytes_long");
+        BenchmarkSupport.setField(jwtUtil, "expiration", 86_400_000L);
+        jwtUtil.init();
+
+        Role role = Role.builder().id(1L).name("OFFICER").build();
+        user = User.builder()
+                .id(42L)
+                .username("officer42")
+                .password("unused")
+                .fullName("Officer 42")
+                .email("officer42@example.com")
+                .role(role)
+                .isActive(true)
+                .build();
+        token = jwtUtil.generateToken(user);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken(user);
+    }
+
+    @Benchmark
+    public boolean parseAndValidate() {
+        Claims claims = jwtUtil.parseToken(token);
+        return jwtUtil.validateToken(claims, user);
+    }
+}
@@ -0,0 +1,75 @@
+package com.crms.benchmark;
+
+import com.crms.message.crypto.MessageCipher;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Message content encryption by size, as done for every stored message, and unwrapping a
+ * data key (the cost of a key cache miss, excluding the database read).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MessageEncryptionBenchmark {
+
+    private static final byte[] AAD = "12:345".getBytes(StandardCharsets.UTF_8);
+
+    @Param({"256", "4096", "65536", "1048576"})
+    public int size;
+
+    private MessageCipher cipher;
+    private SecretKey dataKey;
+    private byte[] wrappedKey;
+    private String plaintext;
+    private String ciphertext;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        byte[] masterKey = new byte[MessageCipher.KEY_BYTES];
+        random.nextBytes(masterKey);
+        cipher = new MessageCipher(masterKey);
+        dataKey = cipher.newDataKey();
+        wrappedKey = cipher.wrap(dataKey, AAD);
+
+        StringBuilder text = new StringBuilder(size);
+        while (text.length() < size) {
+            text.append("Please review the latest evidence and update the case notes. ");
+        }
+        plaintext = text.substring(0, size);
+        ciphertext = cipher.encrypt(dataKey, AAD, plaintext);
+    }
+
+    @Benchmark
+    public String encrypt() {
+        return cipher.encrypt(dataKey, AAD, plaintext);
+    }
+
+    @Benchmark
+    public String decrypt() {
+        return cipher.decrypt(dataKey, AAD, ciphertext);
+    }
+
+    @Benchmark
+    public SecretKey unwrapDataKey() {
+        return cipher.unwrap(wrappedKey, AAD);
+    }
+}
@@ -0,0 +1,250 @@
+package com.crms.loadtest;
+
+import com.crms.analytics.QuantileSketch;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Closed-loop load test against a running backend. Each worker picks a weighted scenario,
+ * calls the REST endpoint and records the latency; at the end throughput, error count and
+ * latency percentiles are printed per endpoint. Best run after loading synthetic data:
+ * <pre>
+ * mvn -P benchmark compile exec:exec -Dbenchmark.main=com.crms.loadtest.LoadTestRunner \
+ *     -Dbenchmark.args="url=http://localhost:8081 threads=32 duration=120"
+ * </pre>
+ */
+public class LoadTestRunner {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final String baseUrl;
+    private final int threads;
+    private final Duration warmup;
+    private final Duration duration;
+    private final HttpClient client;
+    private final List<Scenario> scenarios = new ArrayList<>();
+    private String token;
+    private long maxReportId = 1;
+    private long maxCaseId = 1;
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (eq > 0) {
+                options.put(arg.substring(0, eq), arg.substring(eq + 1));
+            }
+        }
+        LoadTestRunner runner = new LoadTestRunner(
+                options.getOrDefault("url", "http://localhost:8081"),
+                Integer.parseInt(options.getOrDefault("threads", "16")),
+                Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup", "15"))),
+                Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "60"))));
+        runner.login(options.getOrDefault("username", "admin"), options.getOrDefault("password", "admin123"));
+        runner.run();
+    }
+
+    LoadTestRunner(String baseUrl, int threads, Duration warmup, Duration duration) {
+        this.baseUrl = baseUrl;
+        this.threads = threads;
+        this.warmup = warmup;
+        this.duration = duration;
+        this.client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newFixedThreadPool(threads))
+                .build();
+
+        scenario("GET /api/reports", 20, () -> get("/api/reports?size=50"));
+        scenario("GET /api/reports?status", 10, () -> get("/api/reports?status=Open&size=50"));
+        scenario("GET /api/reports/{id}", 15, () -> get("/api/reports/" + randomId(maxReportId)));
+        scenario("POST /api/reports", 5, () -> post("/api/reports", newReportJson()));
+        scenario("GET /api/cases?status", 10, () -> get("/api/cases?status=Under%20Investigation&size=50"));
+        scenario("GET /api/cases/{id}", 10, () -> get("/api/cases/" + randomId(maxCaseId)));
+        scenario("GET /api/analytics/dashboard", 15, () -> get("/api/analytics/dashboard"));
+        scenario("GET /api/analytics/trends", 5, () -> get("/api/analytics/trends?window=12&granularity=month"));
+        scenario("GET /api/analytics/case-stats", 5, () -> get("/api/analytics/case-stats"));
+        scenario("GET /api/messages/unread/{id}", 5, () -> get("/api/messages/unread/" + randomId(100)));
+    }
+
+    private void scenario(String name, int weight, Call call) {
+        scenarios.add(new Scenario(name, weight, call));
+    }
+
+    void login(String username, String password) throws Exception {
+        String body = MAPPER.writeValueAsString(Map.of("username", username, "password", password));
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Login failed with HTTP " + response.statusCode());
+        }
+        token = MAPPER.readTree(response.body()).get("token").asText();
+
+        // Newest-first pages tell us the id range to sample single-entity lookups from
+        maxReportId = newestId(get("/api/reports?size=1"));
+        maxCaseId = newestId(get("/api/cases?size=1"));
+    }
+
+    void run() throws Exception {
+        System.out.printf("Warming up for %ds with %d threads%n", warmup.toSeconds(), threads);
+        drive(warmup);
+        System.out.printf("Measuring for %ds%n", duration.toSeconds());
+        long started = System.nanoTime();
+        List<Map<String, Stats>> perWorker = drive(duration);
+        double seconds = (System.nanoTime() - started) / 1e9;
+
+        Map<String, Stats> merged = new LinkedHashMap<>();
+        for (Scenario scenario : scenarios) {
+            merged.put(scenario.name, new Stats());
+        }
+        for (Map<String, Stats> worker : perWorker) {
+            worker.forEach((name, stats) -> merged.get(name).merge(stats));
+        }
+        report(merged, seconds);
+        ((ExecutorService) client.executor().orElseThrow()).shutdown();
+    }
+
+    private List<Map<String, Stats>> drive(Duration length) throws Exception {
+        ExecutorService workers = Executors.newFixedThreadPool(threads);
+        long deadline = System.nanoTime() + length.toNanos();
+        int totalWeight = scenarios.stream().mapToInt(s -> s.weight).sum();
+        List<Future<Map<String, Stats>>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            futures.add(workers.submit(() -> {
+                // Each worker keeps its own sketches, merged at the end, so recording is contention-free
+                Map<String, Stats> stats = new HashMap<>();
+                while (System.nanoTime() < deadline) {
+                    Scenario scenario = pick(totalWeight);
+                    long start = System.nanoTime();
+                    int status;
+                    try {
+                        status = scenario.call.execute().statusCode();
+                    } catch (Exception e) {
+                        status = -1;
+                    }
+                    stats.computeIfAbsent(scenario.name, k -> new Stats())
+                            .record((System.nanoTime() - start) / 1e6, status >= 200 && status < 300);
+                }
+                return stats;
+            }));
+        }
+        List<Map<String, Stats>> results = new ArrayList<>();
+        for (Future<Map<String, Stats>> future : futures) {
+            results.add(future.get());
+        }
+        workers.shutdown();
+        return results;
+    }
+
+    private static void report(Map<String, Stats> stats, double seconds) {
+        System.out.printf("%-34s %9s %9s %7s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "req/s", "errors", "p50 ms", "p90 ms", "p99 ms", "max ms");
+        long totalRequests = 0;
+        for (Map.Entry<String, Stats> entry : stats.entrySet()) {
+            Stats s = entry.getValue();
+            totalRequests += s.latencies.getCount();
+            System.out.printf("%-34s %9d %9.1f %7d %9.1f %9.1f %9.1f %9.1f%n",
+                    entry.getKey(), s.latencies.getCount(), s.latencies.getCount() / seconds, s.errors,
+                    s.latencies.quantile(0.5), s.latencies.quantile(0.9), s.latencies.quantile(0.99), s.max);
+        }
+        System.out.printf("Total: %d requests, %.1f req/s%n", totalRequests, totalRequests / seconds);
+    }
+
+    private Scenario pick(int totalWeight) {
+        int roll = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (Scenario scenario : scenarios) {
+            roll -= scenario.weight;
+            if (roll < 0) {
+                return scenario;
+            }
+        }
+        return scenarios.get(scenarios.size() - 1);
+    }
+
+    private HttpResponse<String> get(String path) throws Exception {
+        return client.send(authorized(path).GET().build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<String> post(String path, String json) throws Exception {
+        return client.send(authorized(path)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpRequest.Builder authorized(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Authorization", "Bearer " + token);
+    }
+
+    private static String newReportJson() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return "{\"title\":\"Load test report\",\"description\":\"Created by the load test\","
+                + "\"category\":{\"id\":" + (1 + random.nextInt(8)) + "},\"location\":\"Load test\","
+                + "\"latitude\":" + (19.0 + random.nextDouble() / 10) + ",\"longitude\":" + (72.8 + random.nextDouble() / 10)
+                + ",\"reportedBy\":{\"id\":1},\"status\":\"Open\"}";
+    }
+
+    private static long randomId(long max) {
+        return 1 + ThreadLocalRandom.current().nextLong(Math.max(max, 1));
+    }
+
+    private static long newestId(HttpResponse<String> page) throws Exception {
+        JsonNode items = MAPPER.readTree(page.body()).path("items");
+        return items.size() > 0 ? items.get(0).path("id").asLong(1) : 1;
+    }
+
+    @FunctionalInterface
+    private interface Call {
+        HttpResponse<String> execute() throws Exception;
+    }
+
+    private static final class Scenario {
+        final String name;
+        final int weight;
+        final Call call;
+
+        Scenario(String name, int weight, Call call) {
+            this.name = name;
+            this.weight = weight;
+            this.call = call;
+        }
+    }
+
+    private static final class Stats {
+        final QuantileSketch latencies = new QuantileSketch();
+        long errors;
+        double max;
+
+        void record(double millis, boolean success) {
+            latencies.add(millis);
+            max = Math.max(max, millis);
+            if (!success) {
+                errors++;
+            }
+        }
+
+        void merge(Stats other) {
+            latencies.merge(other.latencies);
+            errors += other.errors;
+            max = Math.max(max, other.max);
+        }
+    }
+}
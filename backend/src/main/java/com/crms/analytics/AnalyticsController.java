@@ -1,10 +1,13 @@
 package com.crms.analytics;
 
+import com.crms.analytics.hotspot.HotspotDetectionService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.Map;
 
 @RestController
@@ -12,9 +15,20 @@ import java.util.Map;
 @CrossOrigin(origins = "*")
 public class AnalyticsController {
 
+    private static final int MAX_TREND_WINDOW = 366;
+    private static final LocalDate EARLIEST_STATS_DATE = LocalDate.of(1970, 1, 1);
+
+    private static final int DEFAULT_HEATMAP_DAYS = 30;
+
     @Autowired
     private AnalyticsService analyticsService;
 
+    @Autowired
+    private HeatmapIndex heatmapIndex;
+
+    @Autowired
+    private HotspotDetectionService hotspotDetectionService;
+
     @GetMapping("/dashboard")
     @PreAuthorize("hasAnyRole('ADMIN', 'ANALYST')")
     public ResponseEntity<Map<String, Object>> getDashboardData() {
@@ -23,13 +37,58 @@ public class AnalyticsController {
 
     @GetMapping("/trends")
     @PreAuthorize("hasAnyRole('ADMIN', 'ANALYST')")
-    public ResponseEntity<Map<String, Object>> getCrimeTrends() {
-        return ResponseEntity.ok(analyticsService.getCrimeTrends());
+    public ResponseEntity<Map<String, Object>> getCrimeTrends(
+            @RequestParam(defaultValue = "6") int window,
+            @RequestParam(defaultValue = "month") String granularity) {
+        if (window < 1 || window > MAX_TREND_WINDOW) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            return ResponseEntity.ok(analyticsService.getCrimeTrends(window, TrendGranularity.fromParam(granularity)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     @GetMapping("/case-stats")
     @PreAuthorize("hasAnyRole('ADMIN', 'ANALYST')")
-    public ResponseEntity<Map<String, Object>> getCaseResolutionStats() {
-        return ResponseEntity.ok(analyticsService.getCaseResolutionStats());
+    public ResponseEntity<Map<String, Object>> getCaseResolutionStats(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        LocalDate rangeStart = from != null ? from : EARLIEST_STATS_DATE;
+        LocalDate rangeEnd = to != null ? to : LocalDate.now();
+        if (rangeStart.isAfter(rangeEnd)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(analyticsService.getCaseResolutionStats(rangeStart, rangeEnd));
+    }
+
+    @GetMapping("/heatmap")
+    @PreAuthorize("hasAnyRole('ADMIN', 'ANALYST')")
+    public ResponseEntity<Map<String, Object>> getHeatmap(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "5") int precision,
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(defaultValue = "-90") double minLat,
+            @RequestParam(defaultValue = "-180") double minLon,
+            @RequestParam(defaultValue = "90") double maxLat,
+            @RequestParam(defaultValue = "180") double maxLon) {
+        LocalDate rangeEnd = to != null ? to : LocalDate.now();
+        LocalDate rangeStart = from != null ? from : rangeEnd.minusDays(DEFAULT_HEATMAP_DAYS - 1);
+        try {
+            return ResponseEntity.ok(heatmapIndex.getHeatmap(rangeStart, rangeEnd, precision, categoryId,
+                    minLat, minLon, maxLat, maxLon));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/hotspots")
+    @PreAuthorize("hasAnyRole('ADMIN', 'ANALYST')")
+    public ResponseEntity<Map<String, Object>> getHotspots(
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(defaultValue = "100") int limit) {
+        return ResponseEntity.ok(hotspotDetectionService.getHotspots(categoryId, limit));
     }
 } 
\ No newline at end of file
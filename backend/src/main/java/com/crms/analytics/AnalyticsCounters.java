@@ -0,0 +1,225 @@
+package com.crms.analytics;
+
+import com.crms.case_management.CaseRepository;
+import com.crms.crime.CrimeReport;
+import com.crms.crime.CrimeReportRepository;
+import com.crms.user.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Live dashboard totals kept in memory so the dashboard never has to query MySQL.
+ * The services report every create/update/delete here; the counters are rebuilt from
+ * the database at startup and reconciled periodically to correct any drift.
+ */
+@Component
+public class AnalyticsCounters {
+
+    private static final Logger log = LoggerFactory.getLogger(AnalyticsCounters.class);
+
+    static final int DAILY_RETENTION_DAYS = 31;
+
+    @Autowired
+    private CrimeReportRepository crimeReportRepository;
+
+    @Autowired
+    private CaseRepository caseRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private volatile Counters counters = new Counters();
+    private volatile boolean initialized = false;
+
+    public boolean isInitialized() {
+        return initialized;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        rebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${crms.analytics.counters.reconcile-interval-ms:300000}",
+            initialDelayString = "${crms.analytics.counters.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        rebuild();
+    }
+
+    /**
+     * Reloads every counter from the database and swaps the new set in atomically.
+     * Increments racing with the reload may be lost until the next reconcile.
+     */
+    public void rebuild() {
+        try {
+            Counters fresh = new Counters();
+            for (Object[] row : crimeReportRepository.countGroupedByStatus()) {
+                fresh.reportsByStatus.computeIfAbsent(statusKey((String) row[0]), k -> new LongAdder())
+                        .add(((Number) row[1]).longValue());
+            }
+            for (Object[] row : crimeReportRepository.countGroupedByCategory()) {
+                fresh.reportsByCategory.computeIfAbsent((Long) row[0], k -> new LongAdder())
+                        .add(((Number) row[1]).longValue());
+            }
+            LocalDateTime since = LocalDate.now().minusDays(DAILY_RETENTION_DAYS - 1).atStartOfDay();
+            for (Object[] row : crimeReportRepository.countGroupedByDaySince(since)) {
+                fresh.reportsByDay.computeIfAbsent(toLocalDate(row[0]), k -> new LongAdder())
+                        .add(((Number) row[1]).longValue());
+            }
+            for (Object[] row : caseRepository.countGroupedByStatus()) {
+                fresh.casesByStatus.computeIfAbsent(statusKey((String) row[0]), k -> new LongAdder())
+                        .add(((Number) row[1]).longValue());
+            }
+            fresh.users.add(userRepository.count());
+
+            counters = fresh;
+            initialized = true;
+        } catch (RuntimeException e) {
+            log.warn("Failed to rebuild analytics counters", e);
+        }
+    }
+
+    public void reportCreated(CrimeReport report) {
+        Counters c = counters;
+        increment(c.reportsByStatus, statusKey(report.getStatus()), 1);
+        if (report.getCategory() != null) {
+            increment(c.reportsByCategory, report.getCategory().getId(), 1);
+        }
+        if (report.getCreatedAt() != null) {
+            increment(c.reportsByDay, report.getCreatedAt().toLocalDate(), 1);
+        }
+    }
+
+    public void reportUpdated(String oldStatus, Long oldCategoryId, CrimeReport report) {
+        Counters c = counters;
+        String newStatus = statusKey(report.getStatus());
+        if (!statusKey(oldStatus).equals(newStatus)) {
+            increment(c.reportsByStatus, statusKey(oldStatus), -1);
+            increment(c.reportsByStatus, newStatus, 1);
+        }
+        Long newCategoryId = report.getCategory() != null ? report.getCategory().getId() : null;
+        if (oldCategoryId != null && !oldCategoryId.equals(newCategoryId)) {
+            increment(c.reportsByCategory, oldCategoryId, -1);
+        }
+        if (newCategoryId != null && !newCategoryId.equals(oldCategoryId)) {
+            increment(c.reportsByCategory, newCategoryId, 1);
+        }
+    }
+
+    public void reportDeleted(CrimeReport report) {
+        Counters c = counters;
+        increment(c.reportsByStatus, statusKey(report.getStatus()), -1);
+        if (report.getCategory() != null) {
+            increment(c.reportsByCategory, report.getCategory().getId(), -1);
+        }
+        if (report.getCreatedAt() != null) {
+            LocalDate day = report.getCreatedAt().toLocalDate();
+            if (c.reportsByDay.containsKey(day)) {
+                increment(c.reportsByDay, day, -1);
+            }
+        }
+    }
+
+    public void caseCreated(String status) {
+        increment(counters.casesByStatus, statusKey(status), 1);
+    }
+
+    public void caseStatusChanged(String oldStatus, String newStatus) {
+        if (statusKey(oldStatus).equals(statusKey(newStatus))) {
+            return;
+        }
+        Counters c = counters;
+        increment(c.casesByStatus, statusKey(oldStatus), -1);
+        increment(c.casesByStatus, statusKey(newStatus), 1);
+    }
+
+    public void caseDeleted(String status) {
+        increment(counters.casesByStatus, statusKey(status), -1);
+    }
+
+    public void userCreated() {
+        counters.users.increment();
+    }
+
+    public void userDeleted() {
+        counters.users.decrement();
+    }
+
+    public Map<String, Long> getReportsByStatus() {
+        return snapshot(counters.reportsByStatus);
+    }
+
+    public Map<String, Long> getCasesByStatus() {
+        return snapshot(counters.casesByStatus);
+    }
+
+    public Map<Long, Long> getReportsByCategory() {
+        return snapshot(counters.reportsByCategory);
+    }
+
+    public Map<LocalDate, Long> getReportsByDay() {
+        LocalDate oldest = LocalDate.now().minusDays(DAILY_RETENTION_DAYS - 1);
+        Map<LocalDate, Long> result = new TreeMap<>();
+        counters.reportsByDay.forEach((day, count) -> {
+            if (!day.isBefore(oldest)) {
+                result.put(day, count.sum());
+            }
+        });
+        return result;
+    }
+
+    public long getReportsSince(LocalDate firstDay) {
+        long total = 0;
+        for (Map.Entry<LocalDate, LongAdder> entry : counters.reportsByDay.entrySet()) {
+            if (!entry.getKey().isBefore(firstDay)) {
+                total += entry.getValue().sum();
+            }
+        }
+        return total;
+    }
+
+    public long getTotalUsers() {
+        return counters.users.sum();
+    }
+
+    private static <K> void increment(ConcurrentHashMap<K, LongAdder> map, K key, long delta) {
+        map.computeIfAbsent(key, k -> new LongAdder()).add(delta);
+    }
+
+    private static <K> Map<K, Long> snapshot(ConcurrentHashMap<K, LongAdder> map) {
+        Map<K, Long> result = new ConcurrentHashMap<>();
+        map.forEach((key, count) -> result.put(key, count.sum()));
+        return result;
+    }
+
+    private static String statusKey(String status) {
+        return status != null ? status : "Unknown";
+    }
+
+    private static LocalDate toLocalDate(Object value) {
+        if (value instanceof LocalDate localDate) {
+            return localDate;
+        }
+        return ((java.sql.Date) value).toLocalDate();
+    }
+
+    private static class Counters {
+        final ConcurrentHashMap<String, LongAdder> reportsByStatus = new ConcurrentHashMap<>();
+        final ConcurrentHashMap<String, LongAdder> casesByStatus = new ConcurrentHashMap<>();
+        final ConcurrentHashMap<Long, LongAdder> reportsByCategory = new ConcurrentHashMap<>();
+        final ConcurrentHashMap<LocalDate, LongAdder> reportsByDay = new ConcurrentHashMap<>();
+        final LongAdder users = new LongAdder();
+    }
+}
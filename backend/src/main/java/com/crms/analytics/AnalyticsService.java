@@ -1,23 +1,31 @@
 package com.crms.analytics;
 
-import com.crms.crime.CrimeReport;
+import com.crms.analytics.rollup.CaseDailyRollupRepository;
+import com.crms.analytics.rollup.CrimeReportDailyRollupRepository;
 import com.crms.crime.CrimeReportRepository;
-import com.crms.case_management.Case;
 import com.crms.case_management.CaseRepository;
 import com.crms.user.User;
 import com.crms.user.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
 @Service
 public class AnalyticsService {
 
+    private static final double SECONDS_PER_DAY = 86400.0;
+
     @Autowired
     private CrimeReportRepository crimeReportRepository;
 
@@ -27,94 +35,194 @@ public class AnalyticsService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private AnalyticsCounters analyticsCounters;
+
+    @Autowired
+    private CrimeReportDailyRollupRepository crimeReportRollupRepository;
+
+    @Autowired
+    private CaseDailyRollupRepository caseRollupRepository;
+
     public Map<String, Object> getDashboardData() {
+        if (analyticsCounters.isInitialized()) {
+            Map<String, Object> dashboardData = buildDashboardData(
+                    analyticsCounters.getReportsByStatus(),
+                    analyticsCounters.getCasesByStatus(),
+                    analyticsCounters.getTotalUsers(),
+                    analyticsCounters.getReportsSince(LocalDate.now().minusDays(30)));
+            dashboardData.put("reportsByCategory", analyticsCounters.getReportsByCategory());
+            dashboardData.put("reportsByDay", analyticsCounters.getReportsByDay());
+            return dashboardData;
+        }
+
+        // Counters not loaded yet: fall back to aggregate queries
+        LocalDateTime thirtyDaysAgo = LocalDateTime.now().minus(30, ChronoUnit.DAYS);
+        return buildDashboardData(
+                toStatusCounts(crimeReportRepository.countGroupedByStatus()),
+                toStatusCounts(caseRepository.countGroupedByStatus()),
+                userRepository.count(),
+                crimeReportRepository.countByCreatedAtAfter(thirtyDaysAgo));
+    }
+
+    private Map<String, Object> buildDashboardData(Map<String, Long> reportsByStatus, Map<String, Long> casesByStatus,
+                                                   long totalUsers, long recentReports) {
         Map<String, Object> dashboardData = new HashMap<>();
         
-        // Total counts
-        long totalReports = crimeReportRepository.count();
-        long totalCases = caseRepository.count();
-        long totalUsers = userRepository.count();
-        
-        // Status breakdowns
-        long openReports = crimeReportRepository.findByStatus("Open").size();
-        long closedReports = crimeReportRepository.findByStatus("Closed").size();
-        long openCases = caseRepository.findByStatus("Open").size();
-        long closedCases = caseRepository.findByStatus("Closed").size();
-        
-        // Recent activity (last 30 days)
-        LocalDateTime thirtyDaysAgo = LocalDateTime.now().minus(30, ChronoUnit.DAYS);
-        long recentReports = crimeReportRepository.findAll().stream()
-                .filter(report -> report.getCreatedAt().isAfter(thirtyDaysAgo))
-                .count();
+        long totalReports = reportsByStatus.values().stream().mapToLong(Long::longValue).sum();
+        long totalCases = casesByStatus.values().stream().mapToLong(Long::longValue).sum();
         
         dashboardData.put("totalReports", totalReports);
         dashboardData.put("totalCases", totalCases);
         dashboardData.put("totalUsers", totalUsers);
-        dashboardData.put("openReports", openReports);
-        dashboardData.put("closedReports", closedReports);
-        dashboardData.put("openCases", openCases);
-        dashboardData.put("closedCases", closedCases);
+        dashboardData.put("openReports", reportsByStatus.getOrDefault("Open", 0L));
+        dashboardData.put("closedReports", reportsByStatus.getOrDefault("Closed", 0L));
+        dashboardData.put("openCases", casesByStatus.getOrDefault("Open", 0L));
+        dashboardData.put("closedCases", casesByStatus.getOrDefault("Closed", 0L));
         dashboardData.put("recentReports", recentReports);
+        dashboardData.put("reportsByStatus", reportsByStatus);
+        dashboardData.put("casesByStatus", casesByStatus);
         
         return dashboardData;
     }
 
-    public Map<String, Object> getCrimeTrends() {
+    public Map<String, Object> getCrimeTrends(int window, TrendGranularity granularity) {
         Map<String, Object> trends = new HashMap<>();
         
-        // Get reports by category
-        List<CrimeReport> allReports = crimeReportRepository.findAll();
-        Map<String, Long> categoryCounts = allReports.stream()
-                .collect(java.util.stream.Collectors.groupingBy(
-                    report -> report.getCategory().getName(),
-                    java.util.stream.Collectors.counting()
-                ));
+        // Reports by category
+        Map<String, Long> categoryCounts = new HashMap<>();
+        for (Object[] row : crimeReportRollupRepository.sumGroupedByCategoryName()) {
+            categoryCounts.put((String) row[0], ((Number) row[1]).longValue());
+        }
         
         trends.put("categoryBreakdown", categoryCounts);
         
-        // Monthly trends (last 6 months)
-        Map<String, Long> monthlyTrends = new HashMap<>();
-        for (int i = 0; i < 6; i++) {
-            LocalDateTime monthStart = LocalDateTime.now().minus(i, ChronoUnit.MONTHS);
-            LocalDateTime monthEnd = monthStart.plus(1, ChronoUnit.MONTHS);
-            
-            long count = allReports.stream()
-                    .filter(report -> report.getCreatedAt().isAfter(monthStart) && 
-                                    report.getCreatedAt().isBefore(monthEnd))
-                    .count();
+        // Buckets covering the window, oldest first, ending with the current one
+        LocalDate currentBucket = granularity.bucketStart(LocalDate.now());
+        LocalDate firstBucket = granularity.previousBucket(currentBucket, window - 1);
+        List<String> labels = new ArrayList<>();
+        for (LocalDate bucket = firstBucket; !bucket.isAfter(currentBucket); bucket = granularity.nextBucket(bucket)) {
+            labels.add(granularity.label(bucket));
+        }
+        
+        // Single pass over the category x day rollups for the window
+        Map<String, Long> timeline = emptyTimeline(labels);
+        Map<String, Map<String, Long>> categoryTimelines = new HashMap<>();
+        for (Object[] row : crimeReportRollupRepository.sumGroupedByCategoryAndDaySince(firstBucket)) {
+            LocalDate day = (LocalDate) row[1];
+            String label = granularity.label(granularity.bucketStart(day));
+            long count = ((Number) row[2]).longValue();
             
-            monthlyTrends.put(monthStart.getMonth().toString(), count);
+            timeline.merge(label, count, Long::sum);
+            categoryTimelines.computeIfAbsent((String) row[0], category -> emptyTimeline(labels))
+                    .merge(label, count, Long::sum);
         }
         
-        trends.put("monthlyTrends", monthlyTrends);
+        trends.put("granularity", granularity.name().toLowerCase());
+        trends.put("window", window);
+        trends.put("timeline", timeline);
+        trends.put("categoryTimelines", categoryTimelines);
         
         return trends;
     }
 
-    public Map<String, Object> getCaseResolutionStats() {
+    @Transactional(readOnly = true)
+    public Map<String, Object> getCaseResolutionStats(LocalDate from, LocalDate to) {
         Map<String, Object> stats = new HashMap<>();
         
-        List<Case> allCases = caseRepository.findAll();
-        long totalCases = allCases.size();
-        long resolvedCases = allCases.stream()
-                .filter(caseEntity -> "Closed".equals(caseEntity.getStatus()))
-                .count();
+        Object[] totals = caseRollupRepository.sumResolutionTotals(from, to).get(0);
+        long totalCases = ((Number) totals[0]).longValue();
+        long resolvedCases = ((Number) totals[1]).longValue();
+        long casesWithClosedAt = ((Number) totals[2]).longValue();
+        long resolutionDaysTotal = ((Number) totals[3]).longValue();
         
         double resolutionRate = totalCases > 0 ? (double) resolvedCases / totalCases * 100 : 0;
         
         // Average resolution time
-        double avgResolutionTime = allCases.stream()
-                .filter(caseEntity -> caseEntity.getClosedAt() != null)
-                .mapToLong(caseEntity -> 
-                    ChronoUnit.DAYS.between(caseEntity.getOpenedAt(), caseEntity.getClosedAt()))
-                .average()
-                .orElse(0.0);
+        double avgResolutionTime = casesWithClosedAt > 0 ? (double) resolutionDaysTotal / casesWithClosedAt : 0.0;
         
         stats.put("totalCases", totalCases);
         stats.put("resolvedCases", resolvedCases);
         stats.put("resolutionRate", resolutionRate);
         stats.put("avgResolutionTime", avgResolutionTime);
+        stats.put("resolutionPercentiles", getResolutionPercentiles(from, to));
         
         return stats;
     }
+
+    /**
+     * Resolution time percentiles (in days) per category and per assigned officer. Closed
+     * cases are streamed as lightweight rows into one sketch per group; the overall figures
+     * are obtained by merging the per-category sketches.
+     */
+    private Map<String, Object> getResolutionPercentiles(LocalDate from, LocalDate to) {
+        Map<String, QuantileSketch> byCategory = new HashMap<>();
+        Map<Long, QuantileSketch> byOfficer = new HashMap<>();
+        Map<Long, String> officerNames = new HashMap<>();
+        QuantileSketch unassigned = new QuantileSketch();
+
+        try (Stream<Object[]> rows = caseRepository.streamResolutionTimes(
+                from.atStartOfDay(), to.plusDays(1).atStartOfDay())) {
+            rows.forEach(row -> {
+                LocalDateTime openedAt = (LocalDateTime) row[3];
+                LocalDateTime closedAt = (LocalDateTime) row[4];
+                double days = Math.max(0, Duration.between(openedAt, closedAt).getSeconds()) / SECONDS_PER_DAY;
+
+                byCategory.computeIfAbsent((String) row[0], category -> new QuantileSketch()).add(days);
+                Long officerId = (Long) row[1];
+                if (officerId != null) {
+                    byOfficer.computeIfAbsent(officerId, id -> new QuantileSketch()).add(days);
+                    officerNames.putIfAbsent(officerId, (String) row[2]);
+                } else {
+                    unassigned.add(days);
+                }
+            });
+        }
+
+        QuantileSketch overall = new QuantileSketch();
+        byCategory.values().forEach(overall::merge);
+
+        Map<String, Object> categoryPercentiles = new HashMap<>();
+        byCategory.forEach((category, sketch) -> categoryPercentiles.put(category, toPercentiles(sketch)));
+
+        Map<String, Object> officerPercentiles = new HashMap<>();
+        byOfficer.forEach((officerId, sketch) -> {
+            Map<String, Object> percentiles = toPercentiles(sketch);
+            percentiles.put("name", officerNames.get(officerId));
+            officerPercentiles.put(officerId.toString(), percentiles);
+        });
+        if (unassigned.getCount() > 0) {
+            officerPercentiles.put("unassigned", toPercentiles(unassigned));
+        }
+
+        Map<String, Object> percentiles = new HashMap<>();
+        percentiles.put("overall", toPercentiles(overall));
+        percentiles.put("byCategory", categoryPercentiles);
+        percentiles.put("byOfficer", officerPercentiles);
+        return percentiles;
+    }
+
+    private Map<String, Object> toPercentiles(QuantileSketch sketch) {
+        Map<String, Object> percentiles = new HashMap<>();
+        percentiles.put("count", sketch.getCount());
+        percentiles.put("p50", sketch.quantile(0.50));
+        percentiles.put("p90", sketch.quantile(0.90));
+        percentiles.put("p99", sketch.quantile(0.99));
+        return percentiles;
+    }
+
+    private Map<String, Long> emptyTimeline(List<String> labels) {
+        Map<String, Long> timeline = new LinkedHashMap<>();
+        labels.forEach(label -> timeline.put(label, 0L));
+        return timeline;
+    }
+
+    private Map<String, Long> toStatusCounts(List<Object[]> rows) {
+        Map<String, Long> counts = new HashMap<>();
+        for (Object[] row : rows) {
+            String status = row[0] != null ? (String) row[0] : "Unknown";
+            counts.merge(status, ((Number) row[1]).longValue(), Long::sum);
+        }
+        return counts;
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,216 @@
+package com.crms.analytics;
+
+import com.crms.crime.CrimeReport;
+import com.crms.util.GeoHash;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory heatmap of report locations. Counts are kept per day in a primitive
+ * {@link HeatmapGrid} keyed by (geohash-6 cell, category), so any coarser zoom level is
+ * a bit shift and a date range is a walk over at most {@code retention-days} grids -
+ * no database access per request. The services report creates, moves and deletes here;
+ * the index is rebuilt from the database at startup and periodically to correct drift.
+ */
+@Component
+public class HeatmapIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(HeatmapIndex.class);
+
+    public static final int MAX_PRECISION = 6;
+    public static final int MAX_TILES = 5000;
+
+    private static final int CELL_BITS = MAX_PRECISION * 5;
+    private static final long CATEGORY_MASK = 0xFFFFFFFFL;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${crms.analytics.heatmap.retention-days:366}")
+    private int retentionDays;
+
+    private volatile Map<Long, HeatmapGrid> days = new ConcurrentHashMap<>();
+    private volatile boolean initialized = false;
+
+    public boolean isInitialized() {
+        return initialized;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        rebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${crms.analytics.heatmap.rebuild-interval-ms:21600000}",
+            initialDelayString = "${crms.analytics.heatmap.rebuild-interval-ms:21600000}")
+    public void reconcile() {
+        rebuild();
+    }
+
+    /**
+     * Reloads the retained window from the database and swaps it in atomically.
+     * Updates racing with the reload may be lost until the next rebuild.
+     */
+    public void rebuild() {
+        try {
+            Map<Long, HeatmapGrid> fresh = new ConcurrentHashMap<>();
+            LocalDateTime since = oldestRetainedDay().atStartOfDay();
+            long[] rows = new long[1];
+            jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(
+                        "SELECT created_at, category_id, latitude, longitude FROM crime_reports "
+                                + "WHERE created_at >= ? AND latitude IS NOT NULL AND longitude IS NOT NULL",
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                statement.setTimestamp(1, Timestamp.valueOf(since));
+                // Integer.MIN_VALUE makes MySQL Connector/J stream rows instead of buffering the table
+                statement.setFetchSize(Integer.MIN_VALUE);
+                return statement;
+            }, rs -> {
+                long day = rs.getTimestamp(1).toLocalDateTime().toLocalDate().toEpochDay();
+                long key = key(rs.getDouble(3), rs.getDouble(4), rs.getLong(2));
+                fresh.computeIfAbsent(day, d -> new HeatmapGrid()).add(key, 1);
+                rows[0]++;
+            });
+            days = fresh;
+            initialized = true;
+            log.debug("Heatmap rebuilt from {} reports over {} days", rows[0], fresh.size());
+        } catch (RuntimeException e) {
+            log.warn("Failed to rebuild heatmap index", e);
+        }
+    }
+
+    public void reportCreated(CrimeReport report) {
+        adjust(report.getCreatedAt(), report.getLatitude(), report.getLongitude(), categoryId(report), 1);
+    }
+
+    /** Moves a report's count after its location or category changed. */
+    public void reportMoved(Double oldLatitude, Double oldLongitude, Long oldCategoryId, CrimeReport report) {
+        Long newCategoryId = categoryId(report);
+        if (Objects.equals(oldLatitude, report.getLatitude())
+                && Objects.equals(oldLongitude, report.getLongitude())
+                && Objects.equals(oldCategoryId, newCategoryId)) {
+            return;
+        }
+        adjust(report.getCreatedAt(), oldLatitude, oldLongitude, oldCategoryId, -1);
+        adjust(report.getCreatedAt(), report.getLatitude(), report.getLongitude(), newCategoryId, 1);
+    }
+
+    public void reportDeleted(CrimeReport report) {
+        adjust(report.getCreatedAt(), report.getLatitude(), report.getLongitude(), categoryId(report), -1);
+    }
+
+    /**
+     * Report counts per geohash tile of the given precision (1-6) for reports created
+     * between {@code from} and {@code to} inclusive, optionally limited to one category
+     * and to tiles whose centre lies in the bounding box. Busiest tiles first, at most
+     * {@link #MAX_TILES}.
+     */
+    public Map<String, Object> getHeatmap(LocalDate from, LocalDate to, int precision, Long categoryId,
+                                          double minLat, double minLon, double maxLat, double maxLon) {
+        if (precision < 1 || precision > MAX_PRECISION) {
+            throw new IllegalArgumentException("Precision must be between 1 and " + MAX_PRECISION);
+        }
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("from must not be after to");
+        }
+        int tileBits = precision * 5;
+        int shift = CELL_BITS - tileBits;
+        long category = categoryId != null ? categoryId : -1;
+
+        HeatmapGrid tiles = new HeatmapGrid(1024);
+        Map<Long, HeatmapGrid> snapshot = days;
+        long first = Math.max(from.toEpochDay(), oldestRetainedDay().toEpochDay());
+        for (long day = first; day <= to.toEpochDay(); day++) {
+            HeatmapGrid grid = snapshot.get(day);
+            if (grid == null) {
+                continue;
+            }
+            synchronized (grid) {
+                grid.forEach((key, count) -> {
+                    if (category < 0 || (key & CATEGORY_MASK) == category) {
+                        tiles.add((key >>> 32) >>> shift, count);
+                    }
+                });
+            }
+        }
+
+        List<long[]> hits = new ArrayList<>(tiles.size());
+        tiles.forEach((tile, count) -> hits.add(new long[]{tile, count}));
+        hits.sort((a, b) -> Long.compare(b[1], a[1]));
+
+        List<Map<String, Object>> tileList = new ArrayList<>();
+        long inBox = 0;
+        int tilesInBox = 0;
+        for (long[] hit : hits) {
+            double[] centre = GeoHash.cellCentre(hit[0], tileBits);
+            if (centre[0] < minLat || centre[0] > maxLat || centre[1] < minLon || centre[1] > maxLon) {
+                continue;
+            }
+            inBox += hit[1];
+            tilesInBox++;
+            if (tileList.size() < MAX_TILES) {
+                Map<String, Object> tile = new LinkedHashMap<>();
+                tile.put("geohash", GeoHash.fromBits(hit[0], precision));
+                tile.put("latitude", centre[0]);
+                tile.put("longitude", centre[1]);
+                tile.put("count", hit[1]);
+                tileList.add(tile);
+            }
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("precision", precision);
+        result.put("from", from);
+        result.put("to", to);
+        result.put("categoryId", categoryId);
+        result.put("totalCount", inBox);
+        result.put("truncated", tilesInBox > MAX_TILES);
+        result.put("tiles", tileList);
+        return result;
+    }
+
+    private void adjust(LocalDateTime createdAt, Double latitude, Double longitude, Long categoryId, int delta) {
+        if (createdAt == null || latitude == null || longitude == null || categoryId == null) {
+            return;
+        }
+        LocalDate day = createdAt.toLocalDate();
+        if (day.isBefore(oldestRetainedDay())) {
+            return;
+        }
+        HeatmapGrid grid = days.computeIfAbsent(day.toEpochDay(), d -> new HeatmapGrid());
+        synchronized (grid) {
+            grid.add(key(latitude, longitude, categoryId), delta);
+        }
+    }
+
+    private LocalDate oldestRetainedDay() {
+        return LocalDate.now().minusDays(retentionDays - 1L);
+    }
+
+    private static long key(double latitude, double longitude, long categoryId) {
+        return (GeoHash.encodeBits(latitude, longitude, CELL_BITS) << 32) | (categoryId & CATEGORY_MASK);
+    }
+
+    private static Long categoryId(CrimeReport report) {
+        return report.getCategory() != null ? report.getCategory().getId() : null;
+    }
+}
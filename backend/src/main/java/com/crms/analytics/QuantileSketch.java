@@ -0,0 +1,84 @@
+package com.crms.analytics;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Mergeable quantile sketch with relative-error guarantees (DDSketch-style log buckets).
+ * Values are counted in buckets whose bounds grow geometrically, so any quantile is
+ * answered within {@code relativeAccuracy} of the true value and sketches built over
+ * different partitions can be merged losslessly.
+ */
+public class QuantileSketch {
+
+    private static final double DEFAULT_RELATIVE_ACCURACY = 0.01;
+    private static final double MIN_INDEXABLE_VALUE = 1e-9;
+
+    private final double relativeAccuracy;
+    private final double gamma;
+    private final double logGamma;
+    private final Map<Integer, Long> bins = new HashMap<>();
+    private long zeroCount;
+    private long count;
+
+    public QuantileSketch() {
+        this(DEFAULT_RELATIVE_ACCURACY);
+    }
+
+    public QuantileSketch(double relativeAccuracy) {
+        if (relativeAccuracy <= 0 || relativeAccuracy >= 1) {
+            throw new IllegalArgumentException("Relative accuracy must be between 0 and 1");
+        }
+        this.relativeAccuracy = relativeAccuracy;
+        this.gamma = (1 + relativeAccuracy) / (1 - relativeAccuracy);
+        this.logGamma = Math.log(gamma);
+    }
+
+    public void add(double value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Only non-negative values are supported");
+        }
+        if (value < MIN_INDEXABLE_VALUE) {
+            zeroCount++;
+        } else {
+            bins.merge((int) Math.ceil(Math.log(value) / logGamma), 1L, Long::sum);
+        }
+        count++;
+    }
+
+    public void merge(QuantileSketch other) {
+        if (other.relativeAccuracy != relativeAccuracy) {
+            throw new IllegalArgumentException("Cannot merge sketches with different accuracy");
+        }
+        other.bins.forEach((index, binCount) -> bins.merge(index, binCount, Long::sum));
+        zeroCount += other.zeroCount;
+        count += other.count;
+    }
+
+    /** Value at quantile {@code q} (0..1), or 0 when the sketch is empty. */
+    public double quantile(double q) {
+        if (q < 0 || q > 1) {
+            throw new IllegalArgumentException("Quantile must be between 0 and 1");
+        }
+        if (count == 0) {
+            return 0;
+        }
+        double rank = q * (count - 1);
+        long seen = zeroCount;
+        if (rank < seen) {
+            return 0;
+        }
+        for (Map.Entry<Integer, Long> bin : new TreeMap<>(bins).entrySet()) {
+            seen += bin.getValue();
+            if (seen > rank) {
+                return 2 * Math.pow(gamma, bin.getKey()) / (gamma + 1);
+            }
+        }
+        return 2 * Math.pow(gamma, bins.keySet().stream().max(Integer::compare).orElse(0)) / (gamma + 1);
+    }
+
+    public long getCount() {
+        return count;
+    }
+}
@@ -0,0 +1,45 @@
+package com.crms.analytics;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.TemporalAdjusters;
+
+public enum TrendGranularity {
+    DAY,
+    WEEK,
+    MONTH;
+
+    public static TrendGranularity fromParam(String value) {
+        return valueOf(value.trim().toUpperCase());
+    }
+
+    /** First day of the bucket containing {@code day}. */
+    public LocalDate bucketStart(LocalDate day) {
+        return switch (this) {
+            case DAY -> day;
+            case WEEK -> day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH -> day.withDayOfMonth(1);
+        };
+    }
+
+    public LocalDate previousBucket(LocalDate bucketStart, int buckets) {
+        return switch (this) {
+            case DAY -> bucketStart.minusDays(buckets);
+            case WEEK -> bucketStart.minusWeeks(buckets);
+            case MONTH -> bucketStart.minusMonths(buckets);
+        };
+    }
+
+    public LocalDate nextBucket(LocalDate bucketStart) {
+        return switch (this) {
+            case DAY -> bucketStart.plusDays(1);
+            case WEEK -> bucketStart.plusWeeks(1);
+            case MONTH -> bucketStart.plusMonths(1);
+        };
+    }
+
+    public String label(LocalDate bucketStart) {
+        return this == MONTH ? YearMonth.from(bucketStart).toString() : bucketStart.toString();
+    }
+}
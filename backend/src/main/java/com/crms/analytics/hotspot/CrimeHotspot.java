@@ -0,0 +1,46 @@
+package com.crms.analytics.hotspot;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "crime_hotspots")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CrimeHotspot {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "category_id", nullable = false)
+    private Long categoryId;
+
+    // Geohash cell whose clustering run owns this hotspot (the cell containing its centroid)
+    @Column(name = "partition_cell", nullable = false, length = 12)
+    private String partitionCell;
+
+    @Column(nullable = false)
+    private Double latitude;
+
+    @Column(nullable = false)
+    private Double longitude;
+
+    @Column(name = "radius_km", nullable = false)
+    private Double radiusKm;
+
+    @Column(name = "report_count", nullable = false)
+    private Integer reportCount;
+
+    @Column(name = "first_report_at", nullable = false)
+    private LocalDateTime firstReportAt;
+
+    @Column(name = "last_report_at", nullable = false)
+    private LocalDateTime lastReportAt;
+
+    @Column(name = "detected_at", nullable = false)
+    private LocalDateTime detectedAt;
+}
@@ -0,0 +1,29 @@
+package com.crms.analytics.hotspot;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface CrimeHotspotRepository extends JpaRepository<CrimeHotspot, Long> {
+
+    @Modifying
+    @Query("DELETE FROM CrimeHotspot h WHERE h.categoryId = :categoryId AND h.partitionCell = :cell")
+    int deleteByPartition(@Param("categoryId") Long categoryId, @Param("cell") String cell);
+
+    @Modifying
+    @Query("DELETE FROM CrimeHotspot h WHERE h.lastReportAt < :before")
+    int deleteEndedBefore(@Param("before") LocalDateTime before);
+
+    @Query("SELECT h FROM CrimeHotspot h WHERE h.lastReportAt >= :since " +
+            "AND (:categoryId IS NULL OR h.categoryId = :categoryId) " +
+            "ORDER BY h.reportCount DESC, h.lastReportAt DESC")
+    List<CrimeHotspot> findActive(@Param("since") LocalDateTime since, @Param("categoryId") Long categoryId,
+                                  Pageable pageable);
+}
@@ -0,0 +1,177 @@
+package com.crms.analytics.hotspot;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * DBSCAN over points in a local plane (kilometres) plus time (seconds). Two points are
+ * neighbours when they are within {@code epsKm} of each other and {@code epsSeconds}
+ * apart in time. Points are bucketed into a grid whose cells are one epsilon wide in
+ * every dimension, so a neighbourhood query only inspects the 27 surrounding cells
+ * instead of every point.
+ */
+final class DensityClusterer {
+
+    static final int NOISE = -1;
+    private static final int UNVISITED = -2;
+
+    // 21 bits per grid axis in the packed cell key
+    private static final long AXIS_OFFSET = 1L << 20;
+    private static final long AXIS_MASK = (1L << 21) - 1;
+
+    private final double epsKm;
+    private final long epsSeconds;
+    private final int minPoints;
+
+    DensityClusterer(double epsKm, long epsSeconds, int minPoints) {
+        this.epsKm = epsKm;
+        this.epsSeconds = epsSeconds;
+        this.minPoints = minPoints;
+    }
+
+    /**
+     * Cluster label per point: 0..n-1 for members of cluster n, {@link #NOISE} otherwise.
+     */
+    int[] cluster(double[] x, double[] y, long[] t) {
+        int n = x.length;
+        Grid grid = new Grid(x, y, t);
+        int[] labels = new int[n];
+        Arrays.fill(labels, UNVISITED);
+        IntBuffer neighbours = new IntBuffer();
+        IntBuffer queue = new IntBuffer();
+
+        int clusterId = 0;
+        for (int i = 0; i < n; i++) {
+            if (labels[i] != UNVISITED) {
+                continue;
+            }
+            grid.neighbours(i, neighbours);
+            if (neighbours.size < minPoints) {
+                labels[i] = NOISE;
+                continue;
+            }
+            labels[i] = clusterId;
+            queue.clear();
+            queue.addAll(neighbours);
+            for (int q = 0; q < queue.size; q++) {
+                int j = queue.values[q];
+                if (labels[j] == NOISE) {
+                    // Border point: reachable from a core point but not dense itself
+                    labels[j] = clusterId;
+                }
+                if (labels[j] != UNVISITED) {
+                    continue;
+                }
+                labels[j] = clusterId;
+                grid.neighbours(j, neighbours);
+                if (neighbours.size >= minPoints) {
+                    queue.addAll(neighbours);
+                }
+            }
+            clusterId++;
+        }
+        return labels;
+    }
+
+    private final class Grid {
+        private final double[] x;
+        private final double[] y;
+        private final long[] t;
+        private final long[] gx;
+        private final long[] gy;
+        private final long[] gt;
+        private final long minGt;
+        // Point indexes ordered by cell, and each cell's [start, end) range in that order
+        private final int[] order;
+        private final Map<Long, int[]> cells = new HashMap<>();
+
+        Grid(double[] x, double[] y, long[] t) {
+            this.x = x;
+            this.y = y;
+            this.t = t;
+            int n = x.length;
+            gx = new long[n];
+            gy = new long[n];
+            gt = new long[n];
+            long min = Long.MAX_VALUE;
+            for (int i = 0; i < n; i++) {
+                gx[i] = (long) Math.floor(x[i] / epsKm);
+                gy[i] = (long) Math.floor(y[i] / epsKm);
+                gt[i] = Math.floorDiv(t[i], epsSeconds);
+                min = Math.min(min, gt[i]);
+            }
+            minGt = min;
+
+            long[] keyed = new long[n];
+            Integer[] boxed = new Integer[n];
+            for (int i = 0; i < n; i++) {
+                keyed[i] = key(gx[i], gy[i], gt[i]);
+                boxed[i] = i;
+            }
+            Arrays.sort(boxed, (a, b) -> Long.compare(keyed[a], keyed[b]));
+            order = new int[n];
+            for (int i = 0; i < n; i++) {
+                order[i] = boxed[i];
+            }
+            int start = 0;
+            for (int i = 1; i <= n; i++) {
+                if (i == n || keyed[order[i]] != keyed[order[start]]) {
+                    cells.put(keyed[order[start]], new int[]{start, i});
+                    start = i;
+                }
+            }
+        }
+
+        void neighbours(int i, IntBuffer out) {
+            out.clear();
+            double epsSquared = epsKm * epsKm;
+            for (long dx = -1; dx <= 1; dx++) {
+                for (long dy = -1; dy <= 1; dy++) {
+                    for (long dt = -1; dt <= 1; dt++) {
+                        int[] range = cells.get(key(gx[i] + dx, gy[i] + dy, gt[i] + dt));
+                        if (range == null) {
+                            continue;
+                        }
+                        for (int k = range[0]; k < range[1]; k++) {
+                            int j = order[k];
+                            double ddx = x[i] - x[j];
+                            double ddy = y[i] - y[j];
+                            if (ddx * ddx + ddy * ddy <= epsSquared && Math.abs(t[i] - t[j]) <= epsSeconds) {
+                                out.add(j);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+
+        private long key(long cellX, long cellY, long cellT) {
+            return ((cellX + AXIS_OFFSET) & AXIS_MASK) << 42
+                    | ((cellY + AXIS_OFFSET) & AXIS_MASK) << 21
+                    | ((cellT - minGt) & AXIS_MASK);
+        }
+    }
+
+    private static final class IntBuffer {
+        int[] values = new int[16];
+        int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        void addAll(IntBuffer other) {
+            for (int i = 0; i < other.size; i++) {
+                add(other.values[i]);
+            }
+        }
+
+        void clear() {
+            size = 0;
+        }
+    }
+}
@@ -0,0 +1,310 @@
+package com.crms.analytics.hotspot;
+
+import com.crms.analytics.rollup.AnalyticsWatermark;
+import com.crms.analytics.rollup.AnalyticsWatermarkRepository;
+import com.crms.util.GeoHash;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Finds emerging crime clusters: dense groups of same-category reports close in space
+ * and time. The map is split into (category, geohash cell) partitions that are
+ * clustered independently on a dedicated fork-join pool. Each run only re-clusters the
+ * partitions touched by reports updated since the last run, plus partitions flagged by
+ * deletes and moves, and replaces that partition's rows in crime_hotspots.
+ *
+ * Each partition is clustered together with a halo of neighbouring reports and keeps
+ * only the clusters whose centroid falls inside its own cell, so a cluster straddling a
+ * border is found once. Clusters reaching further than the halo past the border are
+ * truncated at the halo.
+ */
+@Service
+public class HotspotDetectionService {
+
+    private static final Logger log = LoggerFactory.getLogger(HotspotDetectionService.class);
+
+    static final String HOTSPOTS_WATERMARK = "crime_hotspots";
+
+    // ~39 x 20 km cells: large enough that most clusters sit well inside one partition
+    static final int PARTITION_PRECISION = 4;
+
+    public static final int MAX_RESULTS = 1000;
+
+    private static final Duration WATERMARK_OVERLAP = Duration.ofMinutes(1);
+    private static final LocalDateTime BEGINNING = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final double KM_PER_DEGREE = 111.32;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CrimeHotspotRepository hotspotRepository;
+
+    @Autowired
+    private AnalyticsWatermarkRepository watermarkRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${crms.analytics.hotspots.eps-km:0.5}")
+    private double epsKm;
+
+    @Value("${crms.analytics.hotspots.eps-hours:72}")
+    private long epsHours;
+
+    @Value("${crms.analytics.hotspots.min-reports:5}")
+    private int minReports;
+
+    @Value("${crms.analytics.hotspots.window-days:30}")
+    private int windowDays;
+
+    @Value("${crms.analytics.hotspots.halo-km:2}")
+    private double haloKm;
+
+    private final ForkJoinPool pool;
+    private final Set<Partition> flaggedPartitions = ConcurrentHashMap.newKeySet();
+
+    public HotspotDetectionService(@Value("${crms.analytics.hotspots.parallelism:0}") int parallelism) {
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    /** Deleted or moved reports leave nothing behind in their old partition, so they flag it explicitly. */
+    public void markLocationDirty(Long categoryId, Double latitude, Double longitude) {
+        if (categoryId != null && latitude != null && longitude != null) {
+            addPartitions(flaggedPartitions, categoryId, latitude, longitude);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${crms.analytics.hotspots.interval-ms:300000}",
+            initialDelayString = "${crms.analytics.hotspots.initial-delay-ms:30000}")
+    public void refresh() {
+        try {
+            detect();
+        } catch (RuntimeException e) {
+            log.warn("Failed to refresh crime hotspots", e);
+        }
+    }
+
+    public void detect() {
+        LocalDateTime runStartedAt = LocalDateTime.now();
+        LocalDateTime windowStart = runStartedAt.minusDays(windowDays);
+        Set<Partition> flagged = new HashSet<>(flaggedPartitions);
+        Set<Partition> partitions = ConcurrentHashMap.newKeySet();
+        partitions.addAll(flagged);
+
+        jdbcTemplate.query("SELECT category_id, latitude, longitude FROM crime_reports WHERE updated_at >= ? "
+                        + "AND created_at >= ? AND latitude IS NOT NULL AND longitude IS NOT NULL",
+                rs -> {
+                    addPartitions(partitions, rs.getLong(1), rs.getDouble(2), rs.getDouble(3));
+                },
+                Timestamp.valueOf(watermarkSince()), Timestamp.valueOf(windowStart));
+
+        try {
+            pool.submit(() -> partitions.parallelStream()
+                    .forEach(partition -> recluster(partition, windowStart, runStartedAt))).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Hotspot clustering failed", e.getCause());
+        }
+
+        transactionTemplate.executeWithoutResult(status -> hotspotRepository.deleteEndedBefore(windowStart));
+        flaggedPartitions.removeAll(flagged);
+        watermarkRepository.save(new AnalyticsWatermark(HOTSPOTS_WATERMARK, runStartedAt));
+        if (!partitions.isEmpty()) {
+            log.debug("Re-clustered {} hotspot partition(s)", partitions.size());
+        }
+    }
+
+    /** Re-clusters every partition in the window, e.g. after rows were loaded with historical updated_at values. */
+    public void detectAll() {
+        watermarkRepository.deleteById(HOTSPOTS_WATERMARK);
+        detect();
+    }
+
+    /** Active hotspots, largest first, with the time of the last detection run. */
+    public Map<String, Object> getHotspots(Long categoryId, int limit) {
+        int resultLimit = Math.max(1, Math.min(limit, MAX_RESULTS));
+        LocalDateTime windowStart = LocalDateTime.now().minusDays(windowDays);
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("lastRunAt", watermarkRepository.findById(HOTSPOTS_WATERMARK)
+                .map(AnalyticsWatermark::getProcessedUntil)
+                .orElse(null));
+        result.put("windowDays", windowDays);
+        result.put("hotspots", hotspotRepository.findActive(windowStart, categoryId, PageRequest.of(0, resultLimit)));
+        return result;
+    }
+
+    private void recluster(Partition partition, LocalDateTime windowStart, LocalDateTime detectedAt) {
+        long cellBits = GeoHash.decodeBits(partition.cell);
+        double[] centre = GeoHash.cellCentre(cellBits, PARTITION_PRECISION * 5);
+        double halfHeight = GeoHash.cellHeightDegrees(PARTITION_PRECISION) / 2 + GeoHash.latitudeDelta(haloKm);
+        double halfWidth = GeoHash.cellWidthDegrees(PARTITION_PRECISION) / 2
+                + GeoHash.longitudeDelta(haloKm, centre[0]);
+        double minLat = centre[0] - halfHeight;
+        double maxLat = centre[0] + halfHeight;
+        double minLon = centre[1] - halfWidth;
+        double maxLon = centre[1] + halfWidth;
+
+        List<String> cover = GeoHash.coverBoundingBox(minLat, minLon, maxLat, maxLon, PARTITION_PRECISION);
+        String[] patterns = new String[4];
+        for (int i = 0; i < patterns.length; i++) {
+            patterns[i] = cover.isEmpty() ? "%" : cover.get(Math.min(i, cover.size() - 1)) + "%";
+        }
+
+        List<double[]> points = new ArrayList<>();
+        jdbcTemplate.query("SELECT latitude, longitude, created_at FROM crime_reports "
+                        + "WHERE category_id = ? AND created_at >= ? "
+                        + "AND (geohash LIKE ? OR geohash LIKE ? OR geohash LIKE ? OR geohash LIKE ?) "
+                        + "AND latitude BETWEEN ? AND ? AND longitude BETWEEN ? AND ?",
+                rs -> {
+                    points.add(new double[]{rs.getDouble(1), rs.getDouble(2),
+                            rs.getTimestamp(3).toLocalDateTime().toEpochSecond(ZoneOffset.UTC)});
+                },
+                partition.categoryId, Timestamp.valueOf(windowStart),
+                patterns[0], patterns[1], patterns[2], patterns[3], minLat, maxLat, minLon, maxLon);
+
+        List<CrimeHotspot> hotspots = points.size() >= minReports
+                ? cluster(partition, points, centre, detectedAt)
+                : List.of();
+        transactionTemplate.executeWithoutResult(status -> {
+            hotspotRepository.deleteByPartition(partition.categoryId, partition.cell);
+            hotspotRepository.saveAll(hotspots);
+        });
+    }
+
+    private List<CrimeHotspot> cluster(Partition partition, List<double[]> points, double[] origin,
+                                       LocalDateTime detectedAt) {
+        // Equirectangular projection around the cell centre; accurate to well under 1% at this scale
+        double kmPerDegreeLon = KM_PER_DEGREE * Math.cos(Math.toRadians(origin[0]));
+        int n = points.size();
+        double[] x = new double[n];
+        double[] y = new double[n];
+        long[] t = new long[n];
+        for (int i = 0; i < n; i++) {
+            double[] point = points.get(i);
+            x[i] = (point[1] - origin[1]) * kmPerDegreeLon;
+            y[i] = (point[0] - origin[0]) * KM_PER_DEGREE;
+            t[i] = (long) point[2];
+        }
+
+        int[] labels = new DensityClusterer(epsKm, epsHours * 3600, minReports).cluster(x, y, t);
+        int clusters = 0;
+        for (int label : labels) {
+            clusters = Math.max(clusters, label + 1);
+        }
+
+        List<CrimeHotspot> hotspots = new ArrayList<>();
+        for (int c = 0; c < clusters; c++) {
+            int count = 0;
+            double sumLat = 0;
+            double sumLon = 0;
+            long first = Long.MAX_VALUE;
+            long last = Long.MIN_VALUE;
+            for (int i = 0; i < n; i++) {
+                if (labels[i] == c) {
+                    double[] point = points.get(i);
+                    count++;
+                    sumLat += point[0];
+                    sumLon += point[1];
+                    first = Math.min(first, t[i]);
+                    last = Math.max(last, t[i]);
+                }
+            }
+            double latitude = sumLat / count;
+            double longitude = sumLon / count;
+            if (!GeoHash.encode(latitude, longitude, PARTITION_PRECISION).equals(partition.cell)) {
+                // Owned by the neighbouring partition
+                continue;
+            }
+            double radius = 0;
+            for (int i = 0; i < n; i++) {
+                if (labels[i] == c) {
+                    double[] point = points.get(i);
+                    radius = Math.max(radius, GeoHash.distanceKm(latitude, longitude, point[0], point[1]));
+                }
+            }
+            hotspots.add(CrimeHotspot.builder()
+                    .categoryId(partition.categoryId)
+                    .partitionCell(partition.cell)
+                    .latitude(latitude)
+                    .longitude(longitude)
+                    .radiusKm(radius)
+                    .reportCount(count)
+                    .firstReportAt(LocalDateTime.ofEpochSecond(first, 0, ZoneOffset.UTC))
+                    .lastReportAt(LocalDateTime.ofEpochSecond(last, 0, ZoneOffset.UTC))
+                    .detectedAt(detectedAt)
+                    .build());
+        }
+        return hotspots;
+    }
+
+    // A report can affect clusters owned by any partition within the halo of it
+    private void addPartitions(Set<Partition> target, long categoryId, double latitude, double longitude) {
+        double dLat = GeoHash.latitudeDelta(haloKm);
+        double dLon = GeoHash.longitudeDelta(haloKm, latitude);
+        target.add(new Partition(categoryId, GeoHash.encode(latitude, longitude, PARTITION_PRECISION)));
+        for (int sLat = -1; sLat <= 1; sLat += 2) {
+            for (int sLon = -1; sLon <= 1; sLon += 2) {
+                double lat = Math.max(-90, Math.min(90, latitude + sLat * dLat));
+                double lon = Math.max(-180, Math.min(180, longitude + sLon * dLon));
+                target.add(new Partition(categoryId, GeoHash.encode(lat, lon, PARTITION_PRECISION)));
+            }
+        }
+    }
+
+    private LocalDateTime watermarkSince() {
+        return watermarkRepository.findById(HOTSPOTS_WATERMARK)
+                .map(AnalyticsWatermark::getProcessedUntil)
+                .map(processedUntil -> processedUntil.minus(WATERMARK_OVERLAP))
+                .orElse(BEGINNING);
+    }
+
+    private static final class Partition {
+        final long categoryId;
+        final String cell;
+
+        Partition(long categoryId, String cell) {
+            this.categoryId = categoryId;
+            this.cell = cell;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Partition that && categoryId == that.categoryId && cell.equals(that.cell);
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(categoryId) * 31 + cell.hashCode();
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.crms.analytics.rollup;
+
+import com.crms.case_management.CaseRepository;
+import com.crms.crime.CrimeReportRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the daily rollup tables in step with crime_reports and cases. Each run only
+ * recomputes the days touched by rows whose updated_at moved past the stored watermark,
+ * plus days flagged by deletes, so the cost follows the amount of change, not table size.
+ */
+@Service
+public class AnalyticsRollupService {
+
+    private static final Logger log = LoggerFactory.getLogger(AnalyticsRollupService.class);
+
+    static final String CRIME_REPORTS_WATERMARK = "crime_report_daily_rollups";
+    static final String CASES_WATERMARK = "case_daily_rollups";
+
+    // Re-scan a short overlap so rows committed just after a watermark was taken are not missed
+    private static final Duration WATERMARK_OVERLAP = Duration.ofMinutes(1);
+    private static final LocalDateTime BEGINNING = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    @Autowired
+    private CrimeReportRepository crimeReportRepository;
+
+    @Autowired
+    private CaseRepository caseRepository;
+
+    @Autowired
+    private CrimeReportDailyRollupRepository crimeReportRollupRepository;
+
+    @Autowired
+    private CaseDailyRollupRepository caseRollupRepository;
+
+    @Autowired
+    private AnalyticsWatermarkRepository watermarkRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final Set<LocalDate> dirtyReportDays = ConcurrentHashMap.newKeySet();
+    private final Set<LocalDate> dirtyCaseDays = ConcurrentHashMap.newKeySet();
+
+    /** Deleted rows leave no updated_at behind, so deletes flag their day explicitly. */
+    public void markReportDayDirty(LocalDateTime createdAt) {
+        if (createdAt != null) {
+            dirtyReportDays.add(createdAt.toLocalDate());
+        }
+    }
+
+    public void markCaseDayDirty(LocalDateTime openedAt) {
+        if (openedAt != null) {
+            dirtyCaseDays.add(openedAt.toLocalDate());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${crms.analytics.rollup.interval-ms:60000}",
+            initialDelayString = "${crms.analytics.rollup.initial-delay-ms:10000}")
+    public void refresh() {
+        try {
+            refreshReportRollups();
+            refreshCaseRollups();
+        } catch (RuntimeException e) {
+            log.warn("Failed to refresh analytics rollups", e);
+        }
+    }
+
+    public void refreshReportRollups() {
+        LocalDateTime runStartedAt = LocalDateTime.now();
+        Set<LocalDate> flagged = new HashSet<>(dirtyReportDays);
+        Set<LocalDate> days = new TreeSet<>(crimeReportRepository.findCreatedDaysUpdatedSince(
+                watermarkSince(CRIME_REPORTS_WATERMARK)));
+        days.addAll(flagged);
+
+        for (LocalDate day : days) {
+            transactionTemplate.executeWithoutResult(status -> {
+                crimeReportRollupRepository.deleteByDay(day);
+                crimeReportRollupRepository.insertForDay(day.atStartOfDay(), day.plusDays(1).atStartOfDay());
+            });
+        }
+
+        dirtyReportDays.removeAll(flagged);
+        saveWatermark(CRIME_REPORTS_WATERMARK, runStartedAt);
+        if (!days.isEmpty()) {
+            log.debug("Refreshed crime report rollups for {} day(s)", days.size());
+        }
+    }
+
+    public void refreshCaseRollups() {
+        LocalDateTime runStartedAt = LocalDateTime.now();
+        Set<LocalDate> flagged = new HashSet<>(dirtyCaseDays);
+        Set<LocalDate> days = new TreeSet<>(caseRepository.findOpenedDaysUpdatedSince(
+                watermarkSince(CASES_WATERMARK)));
+        days.addAll(flagged);
+
+        for (LocalDate day : days) {
+            transactionTemplate.executeWithoutResult(status -> {
+                caseRollupRepository.deleteByDay(day);
+                caseRollupRepository.insertForDay(day.atStartOfDay(), day.plusDays(1).atStartOfDay());
+            });
+        }
+
+        dirtyCaseDays.removeAll(flagged);
+        saveWatermark(CASES_WATERMARK, runStartedAt);
+        if (!days.isEmpty()) {
+            log.debug("Refreshed case rollups for {} day(s)", days.size());
+        }
+    }
+
+    private LocalDateTime watermarkSince(String name) {
+        return watermarkRepository.findById(name)
+                .map(AnalyticsWatermark::getProcessedUntil)
+                .map(processedUntil -> processedUntil.minus(WATERMARK_OVERLAP))
+                .orElse(BEGINNING);
+    }
+
+    private void saveWatermark(String name, LocalDateTime processedUntil) {
+        watermarkRepository.save(new AnalyticsWatermark(name, processedUntil));
+    }
+}
@@ -0,0 +1,20 @@
+package com.crms.analytics.rollup;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "analytics_watermarks")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AnalyticsWatermark {
+    @Id
+    private String name;
+
+    @Column(name = "processed_until")
+    private LocalDateTime processedUntil;
+}
@@ -0,0 +1,39 @@
+package com.crms.analytics.rollup;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+
+@Entity
+@Table(name = "case_daily_rollups")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CaseDailyRollup {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "rollup_date", nullable = false)
+    private LocalDate rollupDate;
+
+    @Column(name = "category_id", nullable = false)
+    private Long categoryId;
+
+    @Column(nullable = false)
+    private String status;
+
+    @Column(name = "department_id")
+    private Long departmentId;
+
+    @Column(name = "case_count", nullable = false)
+    private Long caseCount;
+
+    @Column(name = "resolved_count", nullable = false)
+    private Long resolvedCount;
+
+    @Column(name = "resolution_days_total", nullable = false)
+    private Long resolutionDaysTotal;
+}
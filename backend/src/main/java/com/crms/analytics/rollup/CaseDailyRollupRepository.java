@@ -0,0 +1,37 @@
+package com.crms.analytics.rollup;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface CaseDailyRollupRepository extends JpaRepository<CaseDailyRollup, Long> {
+
+    @Modifying
+    @Query("DELETE FROM CaseDailyRollup r WHERE r.rollupDate = :day")
+    int deleteByDay(@Param("day") LocalDate day);
+
+    @Modifying
+    @Query(value = "INSERT INTO case_daily_rollups (rollup_date, category_id, status, department_id, " +
+            "case_count, resolved_count, resolution_days_total) " +
+            "SELECT DATE(c.opened_at), r.category_id, COALESCE(c.status, 'Unknown'), u.department_id, COUNT(*), " +
+            "SUM(CASE WHEN c.closed_at IS NOT NULL THEN 1 ELSE 0 END), " +
+            "COALESCE(SUM(TIMESTAMPDIFF(DAY, c.opened_at, c.closed_at)), 0) " +
+            "FROM cases c JOIN crime_reports r ON r.id = c.crime_report_id LEFT JOIN users u ON u.id = c.assigned_to " +
+            "WHERE c.opened_at >= :dayStart AND c.opened_at < :dayEnd " +
+            "GROUP BY DATE(c.opened_at), r.category_id, COALESCE(c.status, 'Unknown'), u.department_id",
+            nativeQuery = true)
+    int insertForDay(@Param("dayStart") LocalDateTime dayStart, @Param("dayEnd") LocalDateTime dayEnd);
+
+    @Query("SELECT COALESCE(SUM(r.caseCount), 0), " +
+            "COALESCE(SUM(CASE WHEN r.status = 'Closed' THEN r.caseCount ELSE 0 END), 0), " +
+            "COALESCE(SUM(r.resolvedCount), 0), COALESCE(SUM(r.resolutionDaysTotal), 0) " +
+            "FROM CaseDailyRollup r WHERE r.rollupDate BETWEEN :from AND :to")
+    List<Object[]> sumResolutionTotals(@Param("from") LocalDate from, @Param("to") LocalDate to);
+}
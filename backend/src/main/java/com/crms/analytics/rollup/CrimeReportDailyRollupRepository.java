@@ -0,0 +1,36 @@
+package com.crms.analytics.rollup;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface CrimeReportDailyRollupRepository extends JpaRepository<CrimeReportDailyRollup, Long> {
+
+    @Modifying
+    @Query("DELETE FROM CrimeReportDailyRollup r WHERE r.rollupDate = :day")
+    int deleteByDay(@Param("day") LocalDate day);
+
+    @Modifying
+    @Query(value = "INSERT INTO crime_report_daily_rollups (rollup_date, category_id, status, department_id, report_count) " +
+            "SELECT DATE(r.created_at), r.category_id, COALESCE(r.status, 'Unknown'), u.department_id, COUNT(*) " +
+            "FROM crime_reports r JOIN users u ON u.id = r.reported_by " +
+            "WHERE r.created_at >= :dayStart AND r.created_at < :dayEnd " +
+            "GROUP BY DATE(r.created_at), r.category_id, COALESCE(r.status, 'Unknown'), u.department_id",
+            nativeQuery = true)
+    int insertForDay(@Param("dayStart") LocalDateTime dayStart, @Param("dayEnd") LocalDateTime dayEnd);
+
+    @Query("SELECT c.name, SUM(r.reportCount) FROM CrimeReportDailyRollup r, CrimeCategory c " +
+            "WHERE c.id = r.categoryId GROUP BY c.name")
+    List<Object[]> sumGroupedByCategoryName();
+
+    @Query("SELECT c.name, r.rollupDate, SUM(r.reportCount) FROM CrimeReportDailyRollup r, CrimeCategory c " +
+            "WHERE c.id = r.categoryId AND r.rollupDate >= :since GROUP BY c.name, r.rollupDate")
+    List<Object[]> sumGroupedByCategoryAndDaySince(@Param("since") LocalDate since);
+}
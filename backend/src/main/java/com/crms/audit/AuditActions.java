@@ -0,0 +1,25 @@
+package com.crms.audit;
+
+/** Action names written to audit_logs.action. */
+public final class AuditActions {
+
+    public static final String USER_LOGIN = "USER_LOGIN";
+    public static final String USER_LOGIN_FAILED = "USER_LOGIN_FAILED";
+    public static final String USER_CREATED = "USER_CREATED";
+    public static final String USER_UPDATED = "USER_UPDATED";
+    public static final String USER_DELETED = "USER_DELETED";
+    public static final String REPORT_CREATED = "REPORT_CREATED";
+    public static final String REPORT_UPDATED = "REPORT_UPDATED";
+    public static final String REPORT_DELETED = "REPORT_DELETED";
+    public static final String REPORTS_IMPORTED = "REPORTS_IMPORTED";
+    public static final String CASE_CREATED = "CASE_CREATED";
+    public static final String CASE_UPDATED = "CASE_UPDATED";
+    public static final String CASE_CLOSED = "CASE_CLOSED";
+    public static final String CASE_DELETED = "CASE_DELETED";
+    public static final String MESSAGE_SENT = "MESSAGE_SENT";
+    public static final String MESSAGE_DELETED = "MESSAGE_DELETED";
+    public static final String MESSAGES_BROADCAST = "MESSAGES_BROADCAST";
+
+    private AuditActions() {
+    }
+}
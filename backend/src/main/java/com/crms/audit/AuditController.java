@@ -0,0 +1,47 @@
+package com.crms.audit;
+
+import com.crms.audit.dto.AuditLogDto;
+import com.crms.util.CursorPage;
+import com.crms.util.KeysetCursor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+
+@RestController
+@RequestMapping("/api/admin/audit")
+@CrossOrigin(origins = "*")
+public class AuditController {
+
+    private static final int DEFAULT_RANGE_DAYS = 30;
+
+    @Autowired
+    private AuditService auditService;
+
+    /** Audit trail for a time range (default: the last 30 days), newest first unless sort=oldest. */
+    @GetMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<CursorPage<AuditLogDto>> searchAuditLogs(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) Long userId,
+            @RequestParam(required = false) String action,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + KeysetCursor.DEFAULT_PAGE_SIZE) int size,
+            @RequestParam(defaultValue = "newest") String sort) {
+        LocalDateTime rangeEnd = to != null ? to : LocalDateTime.now();
+        LocalDateTime rangeStart = from != null ? from : rangeEnd.minusDays(DEFAULT_RANGE_DAYS);
+        if (!rangeStart.isBefore(rangeEnd)) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            return ResponseEntity.ok(auditService.searchAuditLogs(
+                    rangeStart, rangeEnd, userId, action, cursor, size, sort));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.crms.audit;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/** One audit record waiting to be written to audit_logs. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuditEvent {
+    private Long userId;
+    private String action;
+    private String details;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,47 @@
+package com.crms.audit;
+
+import com.crms.audit.dto.AuditLogDto;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface AuditLogRepository extends JpaRepository<AuditLog, Long> {
+    String VIEW_SELECT = "SELECT new com.crms.audit.dto.AuditLogDto(a.id, a.user.id, u.id, u.fullName, " +
+            "a.action, a.details, a.createdAt) " +
+            "FROM AuditLog a LEFT JOIN a.user u ";
+
+    // The created_at range is always bound so MySQL can prune to the matching monthly partitions
+    @Query(VIEW_SELECT + "WHERE a.createdAt >= :from AND a.createdAt < :to " +
+            "AND (:userId IS NULL OR a.user.id = :userId) " +
+            "AND (:action IS NULL OR a.action = :action) " +
+            "AND (:cursorCreatedAt IS NULL OR a.createdAt < :cursorCreatedAt " +
+            "OR (a.createdAt = :cursorCreatedAt AND a.id < :cursorId)) " +
+            "ORDER BY a.createdAt DESC, a.id DESC")
+    List<AuditLogDto> findPageNewestFirst(@Param("from") LocalDateTime from,
+                                          @Param("to") LocalDateTime to,
+                                          @Param("userId") Long userId,
+                                          @Param("action") String action,
+                                          @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+                                          @Param("cursorId") Long cursorId,
+                                          Pageable pageable);
+
+    @Query(VIEW_SELECT + "WHERE a.createdAt >= :from AND a.createdAt < :to " +
+            "AND (:userId IS NULL OR a.user.id = :userId) " +
+            "AND (:action IS NULL OR a.action = :action) " +
+            "AND (:cursorCreatedAt IS NULL OR a.createdAt > :cursorCreatedAt " +
+            "OR (a.createdAt = :cursorCreatedAt AND a.id > :cursorId)) " +
+            "ORDER BY a.createdAt ASC, a.id ASC")
+    List<AuditLogDto> findPageOldestFirst(@Param("from") LocalDateTime from,
+                                          @Param("to") LocalDateTime to,
+                                          @Param("userId") Long userId,
+                                          @Param("action") String action,
+                                          @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+                                          @Param("cursorId") Long cursorId,
+                                          Pageable pageable);
+}
@@ -0,0 +1,190 @@
+package com.crms.audit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Manages the monthly RANGE partitions of audit_logs. Partitions are created a few months
+ * ahead by splitting the catch-all {@code p_future} partition, and partitions older than
+ * the retention period are exported to gzipped NDJSON files and then dropped, which is
+ * instant compared to deleting millions of rows.
+ */
+@Component
+public class AuditPartitionManager {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditPartitionManager.class);
+
+    private static final String FUTURE_PARTITION = "p_future";
+    private static final Pattern MONTHLY_PARTITION = Pattern.compile("p\\d{6}");
+    private static final DateTimeFormatter PARTITION_NAME = DateTimeFormatter.ofPattern("'p'yyyyMM");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${crms.audit.partitions.months-ahead:3}")
+    private int monthsAhead;
+
+    @Value("${crms.audit.partitions.retention-months:12}")
+    private int retentionMonths;
+
+    @Value("${crms.audit.partitions.archive-dir:data/audit-archive}")
+    private String archiveDir;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        maintain();
+    }
+
+    @Scheduled(fixedDelayString = "${crms.audit.partitions.check-interval-ms:21600000}",
+            initialDelayString = "${crms.audit.partitions.check-interval-ms:21600000}")
+    public void maintain() {
+        try {
+            List<String> partitions = jdbcTemplate.queryForList(
+                    "SELECT PARTITION_NAME FROM INFORMATION_SCHEMA.PARTITIONS " +
+                            "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'audit_logs' " +
+                            "AND PARTITION_NAME IS NOT NULL ORDER BY PARTITION_ORDINAL_POSITION", String.class);
+            if (!partitions.contains(FUTURE_PARTITION)) {
+                log.warn("audit_logs is not partitioned by month; skipping partition maintenance");
+                return;
+            }
+            TreeMap<YearMonth, String> monthly = new TreeMap<>();
+            for (String name : partitions) {
+                if (MONTHLY_PARTITION.matcher(name).matches()) {
+                    monthly.put(YearMonth.parse(name.substring(1), DateTimeFormatter.ofPattern("yyyyMM")), name);
+                }
+            }
+            createFuturePartitions(monthly);
+            archiveExpiredPartitions(monthly);
+        } catch (RuntimeException e) {
+            log.warn("Audit partition maintenance failed", e);
+        }
+    }
+
+    private void createFuturePartitions(TreeMap<YearMonth, String> monthly) {
+        YearMonth last = YearMonth.now().plusMonths(monthsAhead);
+        YearMonth next = monthly.isEmpty() ? firstMonth() : monthly.lastKey().plusMonths(1);
+        if (next.isAfter(last)) {
+            return;
+        }
+        // Bounds go through UNIX_TIMESTAMP so they use the same session time zone as the rows
+        StringBuilder ddl = new StringBuilder("ALTER TABLE audit_logs REORGANIZE PARTITION ")
+                .append(FUTURE_PARTITION).append(" INTO (");
+        for (YearMonth month = next; !month.isAfter(last); month = month.plusMonths(1)) {
+            monthly.put(month, PARTITION_NAME.format(month));
+            ddl.append("PARTITION ").append(PARTITION_NAME.format(month))
+                    .append(" VALUES LESS THAN (UNIX_TIMESTAMP('").append(month.plusMonths(1).atDay(1))
+                    .append(" 00:00:00')), ");
+        }
+        ddl.append("PARTITION ").append(FUTURE_PARTITION).append(" VALUES LESS THAN MAXVALUE)");
+        jdbcTemplate.execute(ddl.toString());
+        log.info("Created audit_logs partitions {} to {}", next, last);
+    }
+
+    /**
+     * First month to split out of p_future when no monthly partitions exist yet: the month of
+     * the oldest row, so history already in the table (synthetic data, migrated rows) is
+     * spread over its own months instead of landing in the current one.
+     */
+    private YearMonth firstMonth() {
+        Timestamp oldest = jdbcTemplate.queryForObject("SELECT MIN(created_at) FROM audit_logs", Timestamp.class);
+        YearMonth now = YearMonth.now();
+        if (oldest == null) {
+            return now;
+        }
+        YearMonth oldestMonth = YearMonth.from(oldest.toLocalDateTime());
+        return oldestMonth.isBefore(now) ? oldestMonth : now;
+    }
+
+    private void archiveExpiredPartitions(TreeMap<YearMonth, String> monthly) {
+        YearMonth oldestKept = YearMonth.now().minusMonths(retentionMonths);
+        for (Map.Entry<YearMonth, String> entry : monthly.headMap(oldestKept).entrySet()) {
+            String partition = entry.getValue();
+            try {
+                long rows = archive(partition);
+                jdbcTemplate.execute("ALTER TABLE audit_logs DROP PARTITION " + partition);
+                log.info("Archived and dropped audit_logs partition {} ({} rows)", partition, rows);
+            } catch (IOException | RuntimeException e) {
+                // Keep the partition; it is retried on the next run
+                log.warn("Could not archive audit_logs partition {}", partition, e);
+                return;
+            }
+        }
+    }
+
+    /** Streams one partition into {@code archive-dir/audit_logs_<partition>.ndjson.gz}. */
+    private long archive(String partition) throws IOException {
+        Path directory = Path.of(archiveDir);
+        Files.createDirectories(directory);
+        Path target = directory.resolve("audit_logs_" + partition + ".ndjson.gz");
+        Path temp = directory.resolve(target.getFileName() + ".tmp");
+        AtomicLong rows = new AtomicLong();
+
+        try (Writer writer = new OutputStreamWriter(new GZIPOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(temp))), StandardCharsets.UTF_8)) {
+            jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(
+                        "SELECT id, user_id, action, details, created_at FROM audit_logs PARTITION (" + partition + ")",
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                // Integer.MIN_VALUE makes MySQL Connector/J stream rows instead of buffering the partition
+                statement.setFetchSize(Integer.MIN_VALUE);
+                return statement;
+            }, rs -> {
+                Map<String, Object> row = new LinkedHashMap<>();
+                row.put("id", rs.getLong("id"));
+                row.put("userId", rs.getObject("user_id"));
+                row.put("action", rs.getString("action"));
+                row.put("details", rs.getString("details"));
+                Timestamp createdAt = rs.getTimestamp("created_at");
+                row.put("createdAt", createdAt != null ? createdAt.toLocalDateTime().toString() : null);
+                try {
+                    writer.write(objectMapper.writeValueAsString(row));
+                    writer.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                rows.incrementAndGet();
+            });
+        }
+
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+            channel.force(true);
+        }
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        return rows.get();
+    }
+}
@@ -0,0 +1,327 @@
+package com.crms.audit;
+
+import com.crms.audit.dto.AuditLogDto;
+import com.crms.util.CursorPage;
+import com.crms.util.KeysetCursor;
+import com.crms.util.SecurityUtils;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Records audit events without a synchronous insert on the request path. Callers enqueue
+ * into a bounded lock-free ring buffer; one background thread drains it and writes
+ * batches to audit_logs (sent as multi-row INSERTs thanks to rewriteBatchedStatements).
+ * When the buffer is full the overflow policy decides: SPILL appends to a local file that
+ * is replayed later, BLOCK waits briefly for space and then spills, DROP discards.
+ * Batches that fail to write because the database is unavailable are spilled as well.
+ */
+@Service
+public class AuditService {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditService.class);
+
+    private static final String INSERT_SQL =
+            "INSERT INTO audit_logs (user_id, action, details, created_at) VALUES (?, ?, ?, ?)";
+    private static final long REPLAY_RETRY_NANOS = TimeUnit.SECONDS.toNanos(30);
+
+    public enum OverflowPolicy { SPILL, BLOCK, DROP }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private AuditLogRepository auditLogRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${crms.audit.buffer-capacity:65536}")
+    private int bufferCapacity;
+
+    @Value("${crms.audit.batch-size:500}")
+    private int batchSize;
+
+    @Value("${crms.audit.flush-interval-ms:200}")
+    private long flushIntervalMs;
+
+    @Value("${crms.audit.overflow-policy:SPILL}")
+    private OverflowPolicy overflowPolicy;
+
+    @Value("${crms.audit.block-timeout-ms:20}")
+    private long blockTimeoutMs;
+
+    @Value("${crms.audit.spill-file:data/audit-spill.ndjson}")
+    private String spillFilePath;
+
+    private AuditRingBuffer<AuditEvent> buffer;
+    private AuditSpillFile spillFile;
+    private Thread flusher;
+    private volatile boolean running;
+    private long nextReplayAttempt;
+
+    private Timer flushTimer;
+    private Counter writtenCounter;
+    private Counter spilledCounter;
+    private Counter droppedCounter;
+    private Counter failedFlushCounter;
+
+    @PostConstruct
+    public void start() {
+        buffer = new AuditRingBuffer<>(bufferCapacity);
+        spillFile = new AuditSpillFile(Path.of(spillFilePath), objectMapper);
+
+        Gauge.builder("crms.audit.queue.depth", buffer, AuditRingBuffer::size)
+                .description("Audit events waiting to be flushed")
+                .register(meterRegistry);
+        flushTimer = Timer.builder("crms.audit.flush.latency")
+                .description("Time to write one batch of audit events")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        writtenCounter = meterRegistry.counter("crms.audit.events.written");
+        spilledCounter = meterRegistry.counter("crms.audit.events.spilled");
+        droppedCounter = meterRegistry.counter("crms.audit.events.dropped");
+        failedFlushCounter = meterRegistry.counter("crms.audit.flush.failures");
+
+        running = true;
+        flusher = new Thread(this::runFlusher, "audit-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(flusher);
+        flusher.join(TimeUnit.SECONDS.toMillis(10));
+        if (flusher.isAlive()) {
+            // The ring buffer has a single consumer, so it cannot be drained from here as well
+            log.warn("Audit flusher did not stop in time, {} queued audit events are not written", buffer.size());
+            return;
+        }
+
+        // Whatever is still queued is written now, or spilled if the database is gone
+        List<AuditEvent> batch = new ArrayList<>(batchSize);
+        while (buffer.drainTo(batch, batchSize) > 0) {
+            flush(batch);
+            batch.clear();
+        }
+    }
+
+    /** Audits an action performed by the current user. */
+    public void record(String action, String details) {
+        record(SecurityUtils.currentUserId(), action, details);
+    }
+
+    public void record(Long userId, String action, String details) {
+        AuditEvent event = new AuditEvent(userId, action, details, LocalDateTime.now());
+        if (buffer.offer(event)) {
+            if (buffer.size() >= batchSize) {
+                LockSupport.unpark(flusher);
+            }
+            return;
+        }
+
+        switch (overflowPolicy) {
+            case BLOCK -> {
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(blockTimeoutMs);
+                LockSupport.unpark(flusher);
+                while (System.nanoTime() < deadline) {
+                    LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(100));
+                    if (buffer.offer(event)) {
+                        return;
+                    }
+                }
+                spill(List.of(event));
+            }
+            case SPILL -> spill(List.of(event));
+            case DROP -> droppedCounter.increment();
+        }
+    }
+
+    public int getQueueDepth() {
+        return buffer.size();
+    }
+
+    /**
+     * Keyset page of audit entries with {@code from <= createdAt < to}, optionally for one
+     * user and/or action. Events still queued in the pipeline are not visible yet.
+     */
+    public CursorPage<AuditLogDto> searchAuditLogs(LocalDateTime from, LocalDateTime to, Long userId, String action,
+                                                  String cursor, int size, String sort) {
+        KeysetCursor position = KeysetCursor.decode(cursor);
+        int pageSize = KeysetCursor.clampPageSize(size);
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+
+        List<AuditLogDto> rows = KeysetCursor.isOldestFirst(sort)
+                ? auditLogRepository.findPageOldestFirst(from, to, userId, action,
+                        position.getTimestamp(), position.getId(), limit)
+                : auditLogRepository.findPageNewestFirst(from, to, userId, action,
+                        position.getTimestamp(), position.getId(), limit);
+
+        return KeysetCursor.toPage(rows, pageSize, AuditLogDto::getCreatedAt, AuditLogDto::getId);
+    }
+
+    private void runFlusher() {
+        List<AuditEvent> batch = new ArrayList<>(batchSize);
+        long idleNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+        while (running) {
+            try {
+                if (buffer.drainTo(batch, batchSize) == 0) {
+                    replaySpilledEvents();
+                    LockSupport.parkNanos(idleNanos);
+                    continue;
+                }
+                flush(batch);
+            } catch (RuntimeException e) {
+                log.error("Audit flusher iteration failed", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<AuditEvent> batch) {
+        long started = System.nanoTime();
+        try {
+            write(batch);
+            flushTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        } catch (PartialWriteException e) {
+            failedFlushCounter.increment();
+            log.warn("Could not write {} of {} audit events, spilling them to disk: {}",
+                    e.getUnwritten().size(), batch.size(), e.getCause().getMessage());
+            spill(e.getUnwritten());
+        } catch (RuntimeException e) {
+            failedFlushCounter.increment();
+            log.warn("Could not write {} audit events, spilling to disk: {}", batch.size(), e.getMessage());
+            spill(batch);
+        }
+    }
+
+    /**
+     * Writes the batch in one round trip. A constraint violation (for example a user that
+     * was deleted meanwhile) would fail the whole batch forever, so the batch is then
+     * retried row by row and only the offending rows are dropped. If the database fails
+     * otherwise during the retry, a {@link PartialWriteException} names the rows that were
+     * not inserted yet.
+     */
+    private void write(List<AuditEvent> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            insert(batch);
+        } catch (DataIntegrityViolationException e) {
+            writeRowByRow(batch);
+            return;
+        }
+        writtenCounter.increment(batch.size());
+    }
+
+    private void writeRowByRow(List<AuditEvent> batch) {
+        for (int i = 0; i < batch.size(); i++) {
+            AuditEvent event = batch.get(i);
+            try {
+                insert(List.of(event));
+                writtenCounter.increment();
+            } catch (DataIntegrityViolationException rejected) {
+                droppedCounter.increment();
+                log.warn("Dropping audit event rejected by the database: {}", event);
+            } catch (RuntimeException e) {
+                throw new PartialWriteException(List.copyOf(batch.subList(i, batch.size())), e);
+            }
+        }
+    }
+
+    private void insert(List<AuditEvent> events) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, events, events.size(), (ps, event) -> {
+            if (event.getUserId() != null) {
+                ps.setLong(1, event.getUserId());
+            } else {
+                ps.setNull(1, Types.BIGINT);
+            }
+            ps.setString(2, event.getAction());
+            ps.setString(3, event.getDetails());
+            ps.setTimestamp(4, Timestamp.valueOf(event.getCreatedAt()));
+        });
+    }
+
+    private void spill(List<AuditEvent> events) {
+        try {
+            spillFile.append(events);
+            spilledCounter.increment(events.size());
+        } catch (RuntimeException e) {
+            // Auditing must never fail the request that triggered it
+            droppedCounter.increment(events.size());
+            log.error("Lost {} audit events: could not spill to disk", events.size(), e);
+        }
+    }
+
+    /** Replays the spill file while the queue is idle; backs off after a failure. */
+    private void replaySpilledEvents() {
+        if (System.nanoTime() < nextReplayAttempt || !spillFile.hasPending()) {
+            return;
+        }
+        try {
+            if (spillFile.replay(batchSize, this::writeSpilled)) {
+                return;
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("Replaying spilled audit events failed, retrying later: {}", e.getMessage());
+        }
+        nextReplayAttempt = System.nanoTime() + REPLAY_RETRY_NANOS;
+    }
+
+    /** Writes a replayed batch; returns how many of its leading events are in the database. */
+    private int writeSpilled(List<AuditEvent> batch) {
+        try {
+            write(batch);
+            return batch.size();
+        } catch (PartialWriteException e) {
+            log.warn("Replaying spilled audit events stopped after {} of {}, retrying later: {}",
+                    batch.size() - e.getUnwritten().size(), batch.size(), e.getCause().getMessage());
+            return batch.size() - e.getUnwritten().size();
+        }
+    }
+
+    /** A row-by-row write that stopped partway; the earlier rows are in the database. */
+    private static class PartialWriteException extends RuntimeException {
+
+        private final List<AuditEvent> unwritten;
+
+        PartialWriteException(List<AuditEvent> unwritten, RuntimeException cause) {
+            super(cause);
+            this.unwritten = unwritten;
+        }
+
+        List<AuditEvent> getUnwritten() {
+            return unwritten;
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.crms.audit;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Append-only NDJSON file holding audit events that could not be queued or written.
+ * Every append is forced to disk before returning, so a spilled event survives a crash;
+ * the flusher replays the file into the database once the pipeline has caught up.
+ */
+class AuditSpillFile {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditSpillFile.class);
+
+    private final Path path;
+    private final Path replayPath;
+    // Number of lines of the replay file already in the database
+    private final Path progressPath;
+    private final ObjectMapper objectMapper;
+
+    AuditSpillFile(Path path, ObjectMapper objectMapper) {
+        this.path = path;
+        this.replayPath = path.resolveSibling(path.getFileName() + ".replay");
+        this.progressPath = path.resolveSibling(path.getFileName() + ".replay.progress");
+        this.objectMapper = objectMapper;
+    }
+
+    synchronized void append(List<AuditEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        try {
+            Files.createDirectories(path.toAbsolutePath().getParent());
+            StringBuilder lines = new StringBuilder();
+            for (AuditEvent event : events) {
+                lines.append(objectMapper.writeValueAsString(event)).append('\n');
+            }
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                ByteBuffer buffer = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(false);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not spill audit events to " + path, e);
+        }
+    }
+
+    boolean hasPending() {
+        return Files.exists(replayPath) || Files.exists(path);
+    }
+
+    /**
+     * Hands spilled events to {@code writer} in batches of {@code batchSize}. The file is
+     * moved aside first so new spills go to a fresh file. After each batch the number of
+     * lines written is recorded next to it, so a replay that fails partway resumes after
+     * the last written event; the file is deleted once every batch was written. Only a
+     * crash between a write and its progress record can write events twice.
+     *
+     * @return false if the writer stopped partway, true once the file was fully replayed
+     */
+    boolean replay(int batchSize, BatchWriter writer) throws IOException {
+        synchronized (this) {
+            if (!Files.exists(replayPath)) {
+                if (!Files.exists(path)) {
+                    return true;
+                }
+                // Left over from a replay that finished before its progress was removed
+                Files.deleteIfExists(progressPath);
+                Files.move(path, replayPath, StandardCopyOption.ATOMIC_MOVE);
+            }
+        }
+        long done = readProgress();
+        long lineNumber = 0;
+        int replayed = 0;
+        try (BufferedReader reader = Files.newBufferedReader(replayPath, StandardCharsets.UTF_8)) {
+            List<AuditEvent> batch = new ArrayList<>(batchSize);
+            // Line number of each event in the batch, to record progress when a write stops partway
+            List<Long> lines = new ArrayList<>(batchSize);
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (++lineNumber <= done || line.isBlank()) {
+                    continue;
+                }
+                try {
+                    batch.add(objectMapper.readValue(line, AuditEvent.class));
+                    lines.add(lineNumber);
+                } catch (JsonProcessingException e) {
+                    // Most likely a line torn by a crash during append
+                    log.warn("Skipping unreadable spilled audit event: {}", line);
+                    continue;
+                }
+                if (batch.size() >= batchSize) {
+                    if (!replayBatch(batch, lines, lineNumber, writer)) {
+                        return false;
+                    }
+                    replayed += batch.size();
+                    batch = new ArrayList<>(batchSize);
+                    lines = new ArrayList<>(batchSize);
+                }
+            }
+            if (!replayBatch(batch, lines, lineNumber, writer)) {
+                return false;
+            }
+            replayed += batch.size();
+        }
+        Files.delete(replayPath);
+        Files.deleteIfExists(progressPath);
+        log.info("Replayed {} spilled audit events from {}", replayed, replayPath);
+        return true;
+    }
+
+    private boolean replayBatch(List<AuditEvent> batch, List<Long> lines, long lastLine, BatchWriter writer)
+            throws IOException {
+        if (batch.isEmpty()) {
+            return true;
+        }
+        int written = writer.write(batch);
+        if (written >= batch.size()) {
+            writeProgress(lastLine);
+            return true;
+        }
+        // Lines before the first unwritten event are done
+        writeProgress(lines.get(written) - 1);
+        return false;
+    }
+
+    private long readProgress() throws IOException {
+        if (!Files.exists(progressPath)) {
+            return 0;
+        }
+        String content = Files.readString(progressPath, StandardCharsets.UTF_8).trim();
+        try {
+            return content.isEmpty() ? 0 : Long.parseLong(content);
+        } catch (NumberFormatException e) {
+            log.warn("Ignoring unreadable audit replay progress in {}: {}", progressPath, content);
+            return 0;
+        }
+    }
+
+    private void writeProgress(long lines) throws IOException {
+        Path temp = progressPath.resolveSibling(progressPath.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.wrap(Long.toString(lines).getBytes(StandardCharsets.UTF_8));
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        }
+        Files.move(temp, progressPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /** Writes a batch of replayed events. */
+    @FunctionalInterface
+    interface BatchWriter {
+
+        /**
+         * @return how many events from the start of the batch are now in the database;
+         *         fewer than the batch size stops the replay
+         */
+        int write(List<AuditEvent> batch);
+    }
+}
@@ -0,0 +1,30 @@
+package com.crms.audit.dto;
+
+import com.crms.user.dto.UserRef;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/** Read model for audit log entries; {@code user} is null for anonymous or deleted users. */
+@Data
+@NoArgsConstructor
+public class AuditLogDto {
+    private Long id;
+    private Long userId;
+    private UserRef user;
+    private String action;
+    private String details;
+    private LocalDateTime createdAt;
+
+    // Flat constructor used by JPQL constructor expressions
+    public AuditLogDto(Long id, Long userId, Long resolvedUserId, String userName, String action, String details,
+                       LocalDateTime createdAt) {
+        this.id = id;
+        this.userId = userId;
+        this.user = UserRef.of(resolvedUserId, userName);
+        this.action = action;
+        this.details = details;
+        this.createdAt = createdAt;
+    }
+}
@@ -1,5 +1,7 @@
 package com.crms.auth;
 
+import com.crms.audit.AuditActions;
+import com.crms.audit.AuditService;
 import com.crms.auth.dto.LoginRequest;
 import com.crms.auth.dto.LoginResponse;
 import com.crms.user.User;
@@ -9,6 +11,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
@@ -24,16 +27,27 @@ public class AuthService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private AuditService auditService;
+
     public LoginResponse login(LoginRequest loginRequest) {
-        Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(loginRequest.getUsername(), loginRequest.getPassword())
-        );
+        Authentication authentication;
+        try {
+            authentication = authenticationManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(loginRequest.getUsername(), loginRequest.getPassword())
+            );
+        } catch (AuthenticationException e) {
+            auditService.record(null, AuditActions.USER_LOGIN_FAILED, "Failed login for " + loginRequest.getUsername());
+            throw e;
+        }
 
         UserDetails userDetails = (UserDetails) authentication.getPrincipal();
         String token = jwtUtil.generateToken(userDetails);
 
         User user = userRepository.findByUsername(loginRequest.getUsername()).orElse(null);
         String role = user != null ? user.getRole().getName() : "USER";
+        auditService.record(user != null ? user.getId() : null, AuditActions.USER_LOGIN,
+                userDetails.getUsername() + " logged in");
 
         return new LoginResponse(token, userDetails.getUsername(), role);
     }
@@ -1,12 +1,14 @@
 package com.crms.case_management;
 
+import com.crms.case_management.dto.CaseDto;
+import com.crms.case_management.dto.CaseSearchCriteria;
+import com.crms.util.CursorPage;
+import com.crms.util.KeysetCursor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
 @RestController
 @RequestMapping("/api/cases")
 @CrossOrigin(origins = "*")
@@ -17,13 +19,17 @@ public class CaseController {
 
     @GetMapping
     @PreAuthorize("hasAnyRole('ADMIN', 'OFFICER', 'ANALYST')")
-    public ResponseEntity<List<Case>> getAllCases() {
-        return ResponseEntity.ok(caseService.getAllCases());
+    public ResponseEntity<CursorPage<CaseDto>> searchCases(
+            CaseSearchCriteria criteria,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + KeysetCursor.DEFAULT_PAGE_SIZE) int size,
+            @RequestParam(defaultValue = "newest") String sort) {
+        return search(criteria, cursor, size, sort);
     }
 
     @GetMapping("/{id}")
     @PreAuthorize("hasAnyRole('ADMIN', 'OFFICER', 'ANALYST')")
-    public ResponseEntity<Case> getCaseById(@PathVariable Long id) {
+    public ResponseEntity<CaseDto> getCaseById(@PathVariable Long id) {
         return caseService.getCaseById(id)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
@@ -31,15 +37,15 @@ public class CaseController {
 
     @PostMapping
     @PreAuthorize("hasAnyRole('ADMIN', 'OFFICER')")
-    public ResponseEntity<Case> createCase(@RequestBody Case caseEntity) {
+    public ResponseEntity<CaseDto> createCase(@RequestBody Case caseEntity) {
         return ResponseEntity.ok(caseService.createCase(caseEntity));
     }
 
     @PutMapping("/{id}")
     @PreAuthorize("hasAnyRole('ADMIN', 'OFFICER')")
-    public ResponseEntity<Case> updateCase(@PathVariable Long id, @RequestBody Case caseDetails) {
+    public ResponseEntity<CaseDto> updateCase(@PathVariable Long id, @RequestBody Case caseDetails) {
         try {
-            Case updatedCase = caseService.updateCase(id, caseDetails);
+            CaseDto updatedCase = caseService.updateCase(id, caseDetails);
             return ResponseEntity.ok(updatedCase);
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();
@@ -55,24 +61,44 @@ public class CaseController {
 
     @GetMapping("/status/{status}")
     @PreAuthorize("hasAnyRole('ADMIN', 'OFFICER', 'ANALYST')")
-    public ResponseEntity<List<Case>> getCasesByStatus(@PathVariable String status) {
-        return ResponseEntity.ok(caseService.getCasesByStatus(status));
+    public ResponseEntity<CursorPage<CaseDto>> getCasesByStatus(
+            @PathVariable String status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + KeysetCursor.DEFAULT_PAGE_SIZE) int size,
+            @RequestParam(defaultValue = "newest") String sort) {
+        CaseSearchCriteria criteria = new CaseSearchCriteria();
+        criteria.setStatus(status);
+        return search(criteria, cursor, size, sort);
     }
 
     @GetMapping("/assigned/{assignedToId}")
     @PreAuthorize("hasAnyRole('ADMIN', 'OFFICER', 'ANALYST')")
-    public ResponseEntity<List<Case>> getCasesByAssignedTo(@PathVariable Long assignedToId) {
-        return ResponseEntity.ok(caseService.getCasesByAssignedTo(assignedToId));
+    public ResponseEntity<CursorPage<CaseDto>> getCasesByAssignedTo(
+            @PathVariable Long assignedToId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + KeysetCursor.DEFAULT_PAGE_SIZE) int size,
+            @RequestParam(defaultValue = "newest") String sort) {
+        CaseSearchCriteria criteria = new CaseSearchCriteria();
+        criteria.setAssignedToId(assignedToId);
+        return search(criteria, cursor, size, sort);
     }
 
     @PutMapping("/{id}/close")
     @PreAuthorize("hasAnyRole('ADMIN', 'OFFICER')")
-    public ResponseEntity<Case> closeCase(@PathVariable Long id) {
+    public ResponseEntity<CaseDto> closeCase(@PathVariable Long id) {
         try {
-            Case closedCase = caseService.closeCase(id);
+            CaseDto closedCase = caseService.closeCase(id);
             return ResponseEntity.ok(closedCase);
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();
         }
     }
+
+    private ResponseEntity<CursorPage<CaseDto>> search(CaseSearchCriteria criteria, String cursor, int size, String sort) {
+        try {
+            return ResponseEntity.ok(caseService.searchCases(criteria, cursor, size, sort));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
 } 
\ No newline at end of file
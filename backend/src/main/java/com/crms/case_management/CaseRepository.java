@@ -1,12 +1,88 @@
 package com.crms.case_management;
 
+import com.crms.case_management.dto.CaseDto;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface CaseRepository extends JpaRepository<Case, Long> {
-    List<Case> findByStatus(String status);
-    List<Case> findByAssignedToId(Long assignedToId);
-} 
\ No newline at end of file
+    String VIEW_SELECT = "SELECT new com.crms.case_management.dto.CaseDto(c.id, r.id, r.title, " +
+            "SUBSTRING(r.description, 1, 200), u.id, u.fullName, c.status, c.openedAt, c.closedAt, " +
+            "c.notes, c.updatedAt) FROM Case c JOIN c.crimeReport r LEFT JOIN c.assignedTo u ";
+
+    @Query(VIEW_SELECT + "WHERE c.id = :id")
+    Optional<CaseDto> findViewById(@Param("id") Long id);
+
+    @Query(VIEW_SELECT + "WHERE (:status IS NULL OR c.status = :status) " +
+            "AND (:assignedToId IS NULL OR u.id = :assignedToId) " +
+            "AND (:categoryId IS NULL OR r.category.id = :categoryId) " +
+            "AND (:openedFrom IS NULL OR c.openedAt >= :openedFrom) " +
+            "AND (:openedBefore IS NULL OR c.openedAt < :openedBefore) " +
+            "AND (:closedFrom IS NULL OR c.closedAt >= :closedFrom) " +
+            "AND (:closedBefore IS NULL OR c.closedAt < :closedBefore) " +
+            "AND (:cursorOpenedAt IS NULL OR c.openedAt < :cursorOpenedAt " +
+            "OR (c.openedAt = :cursorOpenedAt AND c.id < :cursorId)) " +
+            "ORDER BY c.openedAt DESC, c.id DESC")
+    List<CaseDto> searchNewestFirst(@Param("status") String status,
+                                    @Param("assignedToId") Long assignedToId,
+                                    @Param("categoryId") Long categoryId,
+                                    @Param("openedFrom") LocalDateTime openedFrom,
+                                    @Param("openedBefore") LocalDateTime openedBefore,
+                                    @Param("closedFrom") LocalDateTime closedFrom,
+                                    @Param("closedBefore") LocalDateTime closedBefore,
+                                    @Param("cursorOpenedAt") LocalDateTime cursorOpenedAt,
+                                    @Param("cursorId") Long cursorId,
+                                    Pageable pageable);
+
+    @Query(VIEW_SELECT + "WHERE (:status IS NULL OR c.status = :status) " +
+            "AND (:assignedToId IS NULL OR u.id = :assignedToId) " +
+            "AND (:categoryId IS NULL OR r.category.id = :categoryId) " +
+            "AND (:openedFrom IS NULL OR c.openedAt >= :openedFrom) " +
+            "AND (:openedBefore IS NULL OR c.openedAt < :openedBefore) " +
+            "AND (:closedFrom IS NULL OR c.closedAt >= :closedFrom) " +
+            "AND (:closedBefore IS NULL OR c.closedAt < :closedBefore) " +
+            "AND (:cursorOpenedAt IS NULL OR c.openedAt > :cursorOpenedAt " +
+            "OR (c.openedAt = :cursorOpenedAt AND c.id > :cursorId)) " +
+            "ORDER BY c.openedAt ASC, c.id ASC")
+    List<CaseDto> searchOldestFirst(@Param("status") String status,
+                                    @Param("assignedToId") Long assignedToId,
+                                    @Param("categoryId") Long categoryId,
+                                    @Param("openedFrom") LocalDateTime openedFrom,
+                                    @Param("openedBefore") LocalDateTime openedBefore,
+                                    @Param("closedFrom") LocalDateTime closedFrom,
+                                    @Param("closedBefore") LocalDateTime closedBefore,
+                                    @Param("cursorOpenedAt") LocalDateTime cursorOpenedAt,
+                                    @Param("cursorId") Long cursorId,
+                                    Pageable pageable);
+
+    @Query("SELECT c.status, COUNT(c) FROM Case c GROUP BY c.status")
+    List<Object[]> countGroupedByStatus();
+
+    @Query("SELECT DISTINCT CAST(c.openedAt AS LocalDate) FROM Case c WHERE c.updatedAt > :since")
+    List<LocalDate> findOpenedDaysUpdatedSince(@Param("since") LocalDateTime since);
+
+    @Query("SELECT c.openedAt FROM Case c WHERE c.crimeReport.id = :crimeReportId")
+    List<LocalDateTime> findOpenedAtByCrimeReportId(@Param("crimeReportId") Long crimeReportId);
+
+    // Streamed row by row (MySQL streams result sets when the fetch size is Integer.MIN_VALUE)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "-2147483648"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT cat.name, u.id, u.fullName, c.openedAt, c.closedAt FROM Case c " +
+            "JOIN c.crimeReport r JOIN r.category cat LEFT JOIN c.assignedTo u " +
+            "WHERE c.closedAt IS NOT NULL AND c.openedAt >= :from AND c.openedAt < :to")
+    Stream<Object[]> streamResolutionTimes(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+}
@@ -1,8 +1,20 @@
 package com.crms.case_management;
 
+import com.crms.analytics.AnalyticsCounters;
+import com.crms.analytics.rollup.AnalyticsRollupService;
+import com.crms.audit.AuditActions;
+import com.crms.audit.AuditService;
+import com.crms.case_management.dto.CaseDto;
+import com.crms.case_management.dto.CaseSearchCriteria;
+import com.crms.search.CommunicationSearchIndex;
+import com.crms.util.CursorPage;
+import com.crms.util.KeysetCursor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
@@ -13,22 +25,61 @@ public class CaseService {
     @Autowired
     private CaseRepository caseRepository;
 
-    public List<Case> getAllCases() {
-        return caseRepository.findAll();
+    @Autowired
+    private AnalyticsCounters analyticsCounters;
+
+    @Autowired
+    private AnalyticsRollupService analyticsRollupService;
+
+    @Autowired
+    private AuditService auditService;
+
+    @Autowired
+    private CommunicationSearchIndex communicationSearchIndex;
+
+    /**
+     * Keyset page of cases matching the criteria, ordered by (openedAt, id). Date filters
+     * are inclusive calendar days.
+     */
+    public CursorPage<CaseDto> searchCases(CaseSearchCriteria criteria, String cursor, int size, String sort) {
+        KeysetCursor position = KeysetCursor.decode(cursor);
+        int pageSize = KeysetCursor.clampPageSize(size);
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+
+        LocalDateTime openedFrom = startOfDay(criteria.getOpenedFrom());
+        LocalDateTime openedBefore = startOfNextDay(criteria.getOpenedTo());
+        LocalDateTime closedFrom = startOfDay(criteria.getClosedFrom());
+        LocalDateTime closedBefore = startOfNextDay(criteria.getClosedTo());
+
+        List<CaseDto> rows = KeysetCursor.isOldestFirst(sort)
+                ? caseRepository.searchOldestFirst(criteria.getStatus(), criteria.getAssignedToId(),
+                        criteria.getCategoryId(), openedFrom, openedBefore, closedFrom, closedBefore,
+                        position.getTimestamp(), position.getId(), limit)
+                : caseRepository.searchNewestFirst(criteria.getStatus(), criteria.getAssignedToId(),
+                        criteria.getCategoryId(), openedFrom, openedBefore, closedFrom, closedBefore,
+                        position.getTimestamp(), position.getId(), limit);
+
+        return KeysetCursor.toPage(rows, pageSize, CaseDto::getOpenedAt, CaseDto::getId);
     }
 
-    public Optional<Case> getCaseById(Long id) {
-        return caseRepository.findById(id);
+    public Optional<CaseDto> getCaseById(Long id) {
+        return caseRepository.findViewById(id);
     }
 
-    public Case createCase(Case caseEntity) {
-        return caseRepository.save(caseEntity);
+    public CaseDto createCase(Case caseEntity) {
+        Case savedCase = caseRepository.save(caseEntity);
+        analyticsCounters.caseCreated(savedCase.getStatus());
+        communicationSearchIndex.indexCaseNotes(savedCase);
+        auditService.record(AuditActions.CASE_CREATED,
+                "Case #" + savedCase.getId() + " status " + savedCase.getStatus());
+        return toView(savedCase);
     }
 
-    public Case updateCase(Long id, Case caseDetails) {
+    public CaseDto updateCase(Long id, Case caseDetails) {
         Case caseEntity = caseRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Case not found"));
 
+        String oldStatus = caseEntity.getStatus();
         caseEntity.setAssignedTo(caseDetails.getAssignedTo());
         caseEntity.setStatus(caseDetails.getStatus());
         caseEntity.setNotes(caseDetails.getNotes());
@@ -37,28 +88,48 @@ public class CaseService {
             caseEntity.setClosedAt(LocalDateTime.now());
         }
 
-        return caseRepository.save(caseEntity);
+        Case savedCase = caseRepository.save(caseEntity);
+        analyticsCounters.caseStatusChanged(oldStatus, savedCase.getStatus());
+        communicationSearchIndex.indexCaseNotes(savedCase);
+        auditService.record(AuditActions.CASE_UPDATED,
+                "Case #" + id + " status " + oldStatus + " -> " + savedCase.getStatus());
+        return toView(savedCase);
     }
 
     public void deleteCase(Long id) {
-        caseRepository.deleteById(id);
+        caseRepository.findById(id).ifPresent(caseEntity -> {
+            caseRepository.delete(caseEntity);
+            analyticsCounters.caseDeleted(caseEntity.getStatus());
+            analyticsRollupService.markCaseDayDirty(caseEntity.getOpenedAt());
+            communicationSearchIndex.deleteCaseNotes(id);
+            auditService.record(AuditActions.CASE_DELETED, "Case #" + id);
+        });
     }
 
-    public List<Case> getCasesByStatus(String status) {
-        return caseRepository.findByStatus(status);
-    }
-
-    public List<Case> getCasesByAssignedTo(Long assignedToId) {
-        return caseRepository.findByAssignedToId(assignedToId);
-    }
-
-    public Case closeCase(Long id) {
+    public CaseDto closeCase(Long id) {
         Case caseEntity = caseRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Case not found"));
         
+        String oldStatus = caseEntity.getStatus();
         caseEntity.setStatus("Closed");
         caseEntity.setClosedAt(LocalDateTime.now());
         
-        return caseRepository.save(caseEntity);
+        Case savedCase = caseRepository.save(caseEntity);
+        analyticsCounters.caseStatusChanged(oldStatus, savedCase.getStatus());
+        auditService.record(AuditActions.CASE_CLOSED, "Case #" + id);
+        return toView(savedCase);
+    }
+
+    private CaseDto toView(Case caseEntity) {
+        return caseRepository.findViewById(caseEntity.getId())
+                .orElseThrow(() -> new RuntimeException("Case not found"));
+    }
+
+    private static LocalDateTime startOfDay(LocalDate day) {
+        return day != null ? day.atStartOfDay() : null;
+    }
+
+    private static LocalDateTime startOfNextDay(LocalDate day) {
+        return day != null ? day.plusDays(1).atStartOfDay() : null;
     }
 } 
\ No newline at end of file
@@ -0,0 +1,46 @@
+package com.crms.case_management.dto;
+
+import com.crms.user.dto.UserRef;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/** Read model for cases, fetched with a single JOIN query per list. */
+@Data
+@NoArgsConstructor
+public class CaseDto {
+    private Long id;
+    private ReportSummary crimeReport;
+    private UserRef assignedTo;
+    private String status;
+    private LocalDateTime openedAt;
+    private LocalDateTime closedAt;
+    private String notes;
+    private LocalDateTime updatedAt;
+
+    // Flat constructor used by JPQL constructor expressions
+    public CaseDto(Long id, Long crimeReportId, String crimeReportTitle, String crimeReportSummary,
+                   Long assignedToId, String assignedToName, String status, LocalDateTime openedAt,
+                   LocalDateTime closedAt, String notes, LocalDateTime updatedAt) {
+        this.id = id;
+        this.crimeReport = new ReportSummary(crimeReportId, crimeReportTitle, crimeReportSummary);
+        this.assignedTo = UserRef.of(assignedToId, assignedToName);
+        this.status = status;
+        this.openedAt = openedAt;
+        this.closedAt = closedAt;
+        this.notes = notes;
+        this.updatedAt = updatedAt;
+    }
+
+    /** The linked report; {@code description} holds only its first 200 characters. */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ReportSummary {
+        private Long id;
+        private String title;
+        private String description;
+    }
+}
@@ -0,0 +1,13 @@
+package com.crms.crime;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface CrimeCategoryRepository extends JpaRepository<CrimeCategory, Long> {
+    @Query("SELECT c.id FROM CrimeCategory c")
+    List<Long> findAllIds();
+} 
\ No newline at end of file
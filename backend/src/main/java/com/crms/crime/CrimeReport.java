@@ -1,6 +1,7 @@
 package com.crms.crime;
 
 import com.crms.user.User;
+import com.crms.util.GeoHash;
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -13,8 +14,13 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @Builder
 public class CrimeReport {
+    // ~5 m cells; searches match on shorter prefixes of this value
+    public static final int GEOHASH_PRECISION = 9;
+
+    // Pooled ids (blocks of 50) so Hibernate can batch inserts; IDENTITY forces one round trip per row
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "crime_reports_seq")
+    @SequenceGenerator(name = "crime_reports_seq", sequenceName = "crime_reports_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -33,6 +39,10 @@ public class CrimeReport {
 
     private Double longitude;
 
+    // Derived from latitude/longitude on every write; backs the prefix-scan spatial search
+    @Column(length = 12)
+    private String geohash;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "reported_by", nullable = false)
     private User reportedBy;
@@ -49,10 +59,18 @@ public class CrimeReport {
     protected void onCreate() {
         createdAt = LocalDateTime.now();
         updatedAt = LocalDateTime.now();
+        updateGeohash();
     }
 
     @PreUpdate
     protected void onUpdate() {
         updatedAt = LocalDateTime.now();
+        updateGeohash();
+    }
+
+    private void updateGeohash() {
+        geohash = latitude != null && longitude != null
+                ? GeoHash.encode(latitude, longitude, GEOHASH_PRECISION)
+                : null;
     }
 } 
\ No newline at end of file
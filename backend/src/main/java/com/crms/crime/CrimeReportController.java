@@ -1,10 +1,20 @@
 package com.crms.crime;
 
+import com.crms.crime.dto.BatchIngestResult;
+import com.crms.crime.dto.CrimeReportDto;
+import com.crms.crime.dto.NearbyReportDto;
+import com.crms.util.CursorPage;
+import com.crms.util.KeysetCursor;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.util.List;
 
 @RestController
@@ -15,15 +25,58 @@ public class CrimeReportController {
     @Autowired
     private CrimeReportService crimeReportService;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @GetMapping
     @PreAuthorize("hasAnyRole('ADMIN', 'OFFICER', 'ANALYST')")
-    public ResponseEntity<List<CrimeReport>> getAllCrimeReports() {
-        return ResponseEntity.ok(crimeReportService.getAllCrimeReports());
+    public ResponseEntity<CursorPage<CrimeReportDto>> getAllCrimeReports(
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(required = false) Long reportedById,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + KeysetCursor.DEFAULT_PAGE_SIZE) int size,
+            @RequestParam(defaultValue = "newest") String sort) {
+        return getPage(status, categoryId, reportedById, cursor, size, sort);
+    }
+
+    @GetMapping("/near")
+    @PreAuthorize("hasAnyRole('ADMIN', 'OFFICER', 'ANALYST')")
+    public ResponseEntity<List<NearbyReportDto>> getCrimeReportsNear(
+            @RequestParam double lat,
+            @RequestParam double lon,
+            @RequestParam(defaultValue = "2") double radiusKm,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(defaultValue = "" + CrimeReportService.DEFAULT_SPATIAL_LIMIT) int limit) {
+        try {
+            return ResponseEntity.ok(crimeReportService.findReportsNear(lat, lon, radiusKm, status, categoryId, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/within")
+    @PreAuthorize("hasAnyRole('ADMIN', 'OFFICER', 'ANALYST')")
+    public ResponseEntity<List<NearbyReportDto>> getCrimeReportsWithin(
+            @RequestParam double minLat,
+            @RequestParam double minLon,
+            @RequestParam double maxLat,
+            @RequestParam double maxLon,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(defaultValue = "" + CrimeReportService.DEFAULT_SPATIAL_LIMIT) int limit) {
+        try {
+            return ResponseEntity.ok(crimeReportService.findReportsWithin(
+                    minLat, minLon, maxLat, maxLon, status, categoryId, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     @GetMapping("/{id}")
     @PreAuthorize("hasAnyRole('ADMIN', 'OFFICER', 'ANALYST')")
-    public ResponseEntity<CrimeReport> getCrimeReportById(@PathVariable Long id) {
+    public ResponseEntity<CrimeReportDto> getCrimeReportById(@PathVariable Long id) {
         return crimeReportService.getCrimeReportById(id)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
@@ -31,15 +84,30 @@ public class CrimeReportController {
 
     @PostMapping
     @PreAuthorize("hasAnyRole('ADMIN', 'OFFICER')")
-    public ResponseEntity<CrimeReport> createCrimeReport(@RequestBody CrimeReport crimeReport) {
+    public ResponseEntity<CrimeReportDto> createCrimeReport(@RequestBody CrimeReport crimeReport) {
         return ResponseEntity.ok(crimeReportService.createCrimeReport(crimeReport));
     }
 
+    /**
+     * Bulk upload: accepts a JSON array or newline-delimited JSON. The body is read as a
+     * stream, so large uploads are never held in memory as a whole.
+     */
+    @PostMapping(value = "/batch", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    @PreAuthorize("hasAnyRole('ADMIN', 'OFFICER')")
+    public ResponseEntity<BatchIngestResult> ingestCrimeReports(HttpServletRequest request) {
+        try (MappingIterator<CrimeReport> reports = objectMapper.readerFor(CrimeReport.class)
+                .readValues(request.getInputStream())) {
+            return ResponseEntity.ok(crimeReportService.ingestCrimeReports(reports));
+        } catch (IOException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @PutMapping("/{id}")
     @PreAuthorize("hasAnyRole('ADMIN', 'OFFICER')")
-    public ResponseEntity<CrimeReport> updateCrimeReport(@PathVariable Long id, @RequestBody CrimeReport crimeReportDetails) {
+    public ResponseEntity<CrimeReportDto> updateCrimeReport(@PathVariable Long id, @RequestBody CrimeReport crimeReportDetails) {
         try {
-            CrimeReport updatedReport = crimeReportService.updateCrimeReport(id, crimeReportDetails);
+            CrimeReportDto updatedReport = crimeReportService.updateCrimeReport(id, crimeReportDetails);
             return ResponseEntity.ok(updatedReport);
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();
@@ -55,19 +123,41 @@ public class CrimeReportController {
 
     @GetMapping("/status/{status}")
     @PreAuthorize("hasAnyRole('ADMIN', 'OFFICER', 'ANALYST')")
-    public ResponseEntity<List<CrimeReport>> getCrimeReportsByStatus(@PathVariable String status) {
-        return ResponseEntity.ok(crimeReportService.getCrimeReportsByStatus(status));
+    public ResponseEntity<CursorPage<CrimeReportDto>> getCrimeReportsByStatus(
+            @PathVariable String status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + KeysetCursor.DEFAULT_PAGE_SIZE) int size,
+            @RequestParam(defaultValue = "newest") String sort) {
+        return getPage(status, null, null, cursor, size, sort);
     }
 
     @GetMapping("/category/{categoryId}")
     @PreAuthorize("hasAnyRole('ADMIN', 'OFFICER', 'ANALYST')")
-    public ResponseEntity<List<CrimeReport>> getCrimeReportsByCategory(@PathVariable Long categoryId) {
-        return ResponseEntity.ok(crimeReportService.getCrimeReportsByCategory(categoryId));
+    public ResponseEntity<CursorPage<CrimeReportDto>> getCrimeReportsByCategory(
+            @PathVariable Long categoryId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + KeysetCursor.DEFAULT_PAGE_SIZE) int size,
+            @RequestParam(defaultValue = "newest") String sort) {
+        return getPage(null, categoryId, null, cursor, size, sort);
     }
 
     @GetMapping("/reporter/{reportedById}")
     @PreAuthorize("hasAnyRole('ADMIN', 'OFFICER', 'ANALYST')")
-    public ResponseEntity<List<CrimeReport>> getCrimeReportsByReporter(@PathVariable Long reportedById) {
-        return ResponseEntity.ok(crimeReportService.getCrimeReportsByReporter(reportedById));
+    public ResponseEntity<CursorPage<CrimeReportDto>> getCrimeReportsByReporter(
+            @PathVariable Long reportedById,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + KeysetCursor.DEFAULT_PAGE_SIZE) int size,
+            @RequestParam(defaultValue = "newest") String sort) {
+        return getPage(null, null, reportedById, cursor, size, sort);
+    }
+
+    private ResponseEntity<CursorPage<CrimeReportDto>> getPage(String status, Long categoryId, Long reportedById,
+                                                            String cursor, int size, String sort) {
+        try {
+            return ResponseEntity.ok(crimeReportService.getCrimeReportPage(
+                    status, categoryId, reportedById, cursor, size, sort));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 } 
\ No newline at end of file
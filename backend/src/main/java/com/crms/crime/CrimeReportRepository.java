@@ -1,13 +1,86 @@
 package com.crms.crime;
 
+import com.crms.crime.dto.CrimeReportDto;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface CrimeReportRepository extends JpaRepository<CrimeReport, Long> {
-    List<CrimeReport> findByStatus(String status);
-    List<CrimeReport> findByCategoryId(Long categoryId);
-    List<CrimeReport> findByReportedById(Long reportedById);
-} 
\ No newline at end of file
+    String VIEW_SELECT = "SELECT new com.crms.crime.dto.CrimeReportDto(r.id, r.title, r.description, c.id, c.name, " +
+            "r.location, r.latitude, r.longitude, u.id, u.fullName, r.status, r.createdAt, r.updatedAt) " +
+            "FROM CrimeReport r JOIN r.category c JOIN r.reportedBy u ";
+
+    @Query(VIEW_SELECT + "WHERE r.id = :id")
+    Optional<CrimeReportDto> findViewById(@Param("id") Long id);
+
+    @Query(VIEW_SELECT + "WHERE r.id IN :ids")
+    List<CrimeReportDto> findViewsByIds(@Param("ids") Collection<Long> ids);
+
+    @Query(VIEW_SELECT + "WHERE (:status IS NULL OR r.status = :status) " +
+            "AND (:categoryId IS NULL OR c.id = :categoryId) " +
+            "AND (:reporterId IS NULL OR u.id = :reporterId) " +
+            "AND (:cursorCreatedAt IS NULL OR r.createdAt < :cursorCreatedAt " +
+            "OR (r.createdAt = :cursorCreatedAt AND r.id < :cursorId)) " +
+            "ORDER BY r.createdAt DESC, r.id DESC")
+    List<CrimeReportDto> findPageNewestFirst(@Param("status") String status,
+                                             @Param("categoryId") Long categoryId,
+                                             @Param("reporterId") Long reporterId,
+                                             @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+                                             @Param("cursorId") Long cursorId,
+                                             Pageable pageable);
+
+    @Query(VIEW_SELECT + "WHERE (:status IS NULL OR r.status = :status) " +
+            "AND (:categoryId IS NULL OR c.id = :categoryId) " +
+            "AND (:reporterId IS NULL OR u.id = :reporterId) " +
+            "AND (:cursorCreatedAt IS NULL OR r.createdAt > :cursorCreatedAt " +
+            "OR (r.createdAt = :cursorCreatedAt AND r.id > :cursorId)) " +
+            "ORDER BY r.createdAt ASC, r.id ASC")
+    List<CrimeReportDto> findPageOldestFirst(@Param("status") String status,
+                                             @Param("categoryId") Long categoryId,
+                                             @Param("reporterId") Long reporterId,
+                                             @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+                                             @Param("cursorId") Long cursorId,
+                                             Pageable pageable);
+
+    // Candidate rows for spatial search: geohash prefix scans (index range reads) narrowed by the exact box
+    @Query(VIEW_SELECT + "WHERE (r.geohash LIKE :cell1 OR r.geohash LIKE :cell2 " +
+            "OR r.geohash LIKE :cell3 OR r.geohash LIKE :cell4) " +
+            "AND r.latitude BETWEEN :minLat AND :maxLat AND r.longitude BETWEEN :minLon AND :maxLon " +
+            "AND (:status IS NULL OR r.status = :status) " +
+            "AND (:categoryId IS NULL OR c.id = :categoryId)")
+    List<CrimeReportDto> findInBoundingBox(@Param("cell1") String cell1,
+                                           @Param("cell2") String cell2,
+                                           @Param("cell3") String cell3,
+                                           @Param("cell4") String cell4,
+                                           @Param("minLat") double minLat,
+                                           @Param("minLon") double minLon,
+                                           @Param("maxLat") double maxLat,
+                                           @Param("maxLon") double maxLon,
+                                           @Param("status") String status,
+                                           @Param("categoryId") Long categoryId,
+                                           Pageable pageable);
+
+    long countByCreatedAtAfter(LocalDateTime createdAt);
+
+    @Query("SELECT r.status, COUNT(r) FROM CrimeReport r GROUP BY r.status")
+    List<Object[]> countGroupedByStatus();
+
+    @Query("SELECT r.category.id, COUNT(r) FROM CrimeReport r GROUP BY r.category.id")
+    List<Object[]> countGroupedByCategory();
+
+    @Query(value = "SELECT DATE(created_at), COUNT(*) FROM crime_reports WHERE created_at >= :since GROUP BY DATE(created_at)",
+            nativeQuery = true)
+    List<Object[]> countGroupedByDaySince(@Param("since") LocalDateTime since);
+
+    @Query("SELECT DISTINCT CAST(r.createdAt AS LocalDate) FROM CrimeReport r WHERE r.updatedAt > :since")
+    List<LocalDate> findCreatedDaysUpdatedSince(@Param("since") LocalDateTime since);
+}
\ No newline at end of file
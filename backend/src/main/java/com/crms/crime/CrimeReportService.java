@@ -1,34 +1,114 @@
 package com.crms.crime;
 
-import com.crms.user.User;
+import com.crms.analytics.AnalyticsCounters;
+import com.crms.analytics.HeatmapIndex;
+import com.crms.analytics.hotspot.HotspotDetectionService;
+import com.crms.analytics.rollup.AnalyticsRollupService;
+import com.crms.audit.AuditActions;
+import com.crms.audit.AuditService;
+import com.crms.case_management.CaseRepository;
+import com.crms.crime.dto.BatchIngestResult;
+import com.crms.crime.dto.CrimeReportDto;
+import com.crms.crime.dto.NearbyReportDto;
+import com.crms.search.ReportSearchIndex;
+import com.crms.user.UserRepository;
+import com.crms.util.CursorPage;
+import com.crms.util.GeoHash;
+import com.crms.util.KeysetCursor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 public class CrimeReportService {
 
+    private static final Logger log = LoggerFactory.getLogger(CrimeReportService.class);
+
+    public static final double MAX_SEARCH_RADIUS_KM = 100;
+    public static final int DEFAULT_SPATIAL_LIMIT = 100;
+    public static final int MAX_SPATIAL_LIMIT = 1000;
+    // Rows read from the geohash index before exact distance filtering
+    private static final int MAX_SPATIAL_CANDIDATES = 10_000;
+    // Shrinking a dense search stops here (about 10 m)
+    private static final double MIN_SEARCH_RADIUS_KM = 0.01;
+
     @Autowired
     private CrimeReportRepository crimeReportRepository;
 
-    public List<CrimeReport> getAllCrimeReports() {
-        return crimeReportRepository.findAll();
-    }
+    @Autowired
+    private CrimeCategoryRepository crimeCategoryRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
 
-    public Optional<CrimeReport> getCrimeReportById(Long id) {
-        return crimeReportRepository.findById(id);
+    @Autowired
+    private AnalyticsCounters analyticsCounters;
+
+    @Autowired
+    private AnalyticsRollupService analyticsRollupService;
+
+    @Autowired
+    private CaseRepository caseRepository;
+
+    @Autowired
+    private HeatmapIndex heatmapIndex;
+
+    @Autowired
+    private HotspotDetectionService hotspotDetectionService;
+
+    @Autowired
+    private ReportSearchIndex reportSearchIndex;
+
+    @Autowired
+    private AuditService auditService;
+
+    @Value("${crms.reports.ingest.chunk-size:500}")
+    private int ingestChunkSize;
+
+    @Value("${crms.reports.ingest.max-items:100000}")
+    private int ingestMaxItems;
+
+    public Optional<CrimeReportDto> getCrimeReportById(Long id) {
+        return crimeReportRepository.findViewById(id);
     }
 
-    public CrimeReport createCrimeReport(CrimeReport crimeReport) {
-        return crimeReportRepository.save(crimeReport);
+    public CrimeReportDto createCrimeReport(CrimeReport crimeReport) {
+        CrimeReport savedReport = crimeReportRepository.save(crimeReport);
+        analyticsCounters.reportCreated(savedReport);
+        heatmapIndex.reportCreated(savedReport);
+        reportSearchIndex.index(savedReport);
+        auditService.record(AuditActions.REPORT_CREATED,
+                "Crime report #" + savedReport.getId() + ": " + savedReport.getTitle());
+        return toView(savedReport);
     }
 
-    public CrimeReport updateCrimeReport(Long id, CrimeReport crimeReportDetails) {
+    public CrimeReportDto updateCrimeReport(Long id, CrimeReport crimeReportDetails) {
         CrimeReport crimeReport = crimeReportRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Crime Report not found"));
 
+        String oldStatus = crimeReport.getStatus();
+        Long oldCategoryId = crimeReport.getCategory() != null ? crimeReport.getCategory().getId() : null;
+        Double oldLatitude = crimeReport.getLatitude();
+        Double oldLongitude = crimeReport.getLongitude();
+
         crimeReport.setTitle(crimeReportDetails.getTitle());
         crimeReport.setDescription(crimeReportDetails.getDescription());
         crimeReport.setCategory(crimeReportDetails.getCategory());
@@ -37,22 +117,322 @@ public class CrimeReportService {
         crimeReport.setLongitude(crimeReportDetails.getLongitude());
         crimeReport.setStatus(crimeReportDetails.getStatus());
 
-        return crimeReportRepository.save(crimeReport);
+        CrimeReport savedReport = crimeReportRepository.save(crimeReport);
+        analyticsCounters.reportUpdated(oldStatus, oldCategoryId, savedReport);
+        heatmapIndex.reportMoved(oldLatitude, oldLongitude, oldCategoryId, savedReport);
+        hotspotDetectionService.markLocationDirty(oldCategoryId, oldLatitude, oldLongitude);
+        Long newCategoryId = savedReport.getCategory() != null ? savedReport.getCategory().getId() : null;
+        if (!Objects.equals(oldCategoryId, newCategoryId)) {
+            // Case rollups are grouped by the report's category, so the days its cases were opened moved too
+            caseRepository.findOpenedAtByCrimeReportId(id).forEach(analyticsRollupService::markCaseDayDirty);
+        }
+        reportSearchIndex.index(savedReport);
+        auditService.record(AuditActions.REPORT_UPDATED, "Crime report #" + id + " status " + savedReport.getStatus());
+        return toView(savedReport);
     }
 
     public void deleteCrimeReport(Long id) {
-        crimeReportRepository.deleteById(id);
+        crimeReportRepository.findById(id).ifPresent(crimeReport -> {
+            crimeReportRepository.delete(crimeReport);
+            analyticsCounters.reportDeleted(crimeReport);
+            heatmapIndex.reportDeleted(crimeReport);
+            hotspotDetectionService.markLocationDirty(crimeReport.getCategory().getId(),
+                    crimeReport.getLatitude(), crimeReport.getLongitude());
+            analyticsRollupService.markReportDayDirty(crimeReport.getCreatedAt());
+            reportSearchIndex.delete(id);
+            auditService.record(AuditActions.REPORT_DELETED, "Crime report #" + id + ": " + crimeReport.getTitle());
+        });
+    }
+
+    /**
+     * Keyset page of reports ordered by (createdAt, id). Any filter may be null; the cursor
+     * is the {@code nextCursor} of the previous page, or null for the first page.
+     */
+    public CursorPage<CrimeReportDto> getCrimeReportPage(String status, Long categoryId, Long reportedById,
+                                                      String cursor, int size, String sort) {
+        KeysetCursor position = KeysetCursor.decode(cursor);
+        int pageSize = KeysetCursor.clampPageSize(size);
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+
+        List<CrimeReportDto> rows = KeysetCursor.isOldestFirst(sort)
+                ? crimeReportRepository.findPageOldestFirst(status, categoryId, reportedById,
+                        position.getTimestamp(), position.getId(), limit)
+                : crimeReportRepository.findPageNewestFirst(status, categoryId, reportedById,
+                        position.getTimestamp(), position.getId(), limit);
+
+        return KeysetCursor.toPage(rows, pageSize, CrimeReportDto::getCreatedAt, CrimeReportDto::getId);
     }
 
-    public List<CrimeReport> getCrimeReportsByStatus(String status) {
-        return crimeReportRepository.findByStatus(status);
+    /**
+     * Validates and stores reports read lazily from {@code reports}. Valid reports are
+     * committed in chunks of {@code crms.reports.ingest.chunk-size}, one transaction per
+     * chunk, so Hibernate can batch the inserts. If a chunk fails to commit it is retried
+     * report by report, so a bad row only rejects itself.
+     */
+    public BatchIngestResult ingestCrimeReports(Iterator<CrimeReport> reports) {
+        BatchIngestResult result = new BatchIngestResult();
+        Set<Long> categoryIds = new HashSet<>(crimeCategoryRepository.findAllIds());
+        List<CrimeReport> chunk = new ArrayList<>(ingestChunkSize);
+        List<Integer> chunkIndexes = new ArrayList<>(ingestChunkSize);
+        int index = 0;
+
+        while (true) {
+            CrimeReport report;
+            try {
+                if (!reports.hasNext()) {
+                    break;
+                }
+                report = reports.next();
+            } catch (RuntimeException e) {
+                // A broken stream cannot be resynchronised; keep what was read so far
+                result.addRejected(index++, "Malformed input: " + e.getMessage());
+                result.setTruncated(true);
+                break;
+            }
+            if (index >= ingestMaxItems) {
+                result.setTruncated(true);
+                break;
+            }
+
+            String error = validateForIngest(report, categoryIds);
+            if (error != null) {
+                result.addRejected(index, error);
+            } else {
+                chunk.add(report);
+                chunkIndexes.add(index);
+                if (chunk.size() >= ingestChunkSize) {
+                    persistChunk(chunk, chunkIndexes, result);
+                }
+            }
+            index++;
+        }
+        persistChunk(chunk, chunkIndexes, result);
+
+        result.setReceived(index);
+        auditService.record(AuditActions.REPORTS_IMPORTED, "Bulk upload: " + result.getCreated() + " created, "
+                + result.getRejected() + " rejected of " + index);
+        result.getItems().sort(Comparator.comparingInt(BatchIngestResult.ItemResult::getIndex));
+        return result;
+    }
+
+    private static String validateForIngest(CrimeReport report, Set<Long> categoryIds) {
+        if (report == null) {
+            return "Report is empty";
+        }
+        if (report.getTitle() == null || report.getTitle().isBlank()) {
+            return "Title is required";
+        }
+        if (report.getCategory() == null || report.getCategory().getId() == null) {
+            return "Category is required";
+        }
+        if (!categoryIds.contains(report.getCategory().getId())) {
+            return "Unknown category " + report.getCategory().getId();
+        }
+        if (report.getReportedBy() == null || report.getReportedBy().getId() == null) {
+            return "Reporter is required";
+        }
+        if (report.getLatitude() != null && Math.abs(report.getLatitude()) > 90) {
+            return "Latitude must be between -90 and 90";
+        }
+        if (report.getLongitude() != null && Math.abs(report.getLongitude()) > 180) {
+            return "Longitude must be between -180 and 180";
+        }
+        return null;
+    }
+
+    private void persistChunk(List<CrimeReport> chunk, List<Integer> indexes, BatchIngestResult result) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        Set<Long> reporterIds = new HashSet<>();
+        chunk.forEach(report -> reporterIds.add(report.getReportedBy().getId()));
+        Set<Long> knownReporters = new HashSet<>(userRepository.findExistingIds(reporterIds));
+
+        List<CrimeReport> accepted = new ArrayList<>(chunk.size());
+        List<Integer> acceptedIndexes = new ArrayList<>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            CrimeReport report = chunk.get(i);
+            if (knownReporters.contains(report.getReportedBy().getId())) {
+                report.setId(null);
+                accepted.add(report);
+                acceptedIndexes.add(indexes.get(i));
+            } else {
+                result.addRejected(indexes.get(i), "Unknown reporter " + report.getReportedBy().getId());
+            }
+        }
+        chunk.clear();
+        indexes.clear();
+
+        // Only the commit is retried; the hooks run once the rows are stored, so they never cause a re-insert
+        try {
+            transactionTemplate.executeWithoutResult(status -> saveWithReferences(accepted));
+        } catch (RuntimeException e) {
+            log.warn("Bulk insert of {} reports failed, retrying one by one", accepted.size(), e);
+            persistOneByOne(accepted, acceptedIndexes, result);
+            return;
+        }
+        for (int i = 0; i < accepted.size(); i++) {
+            recordCreated(accepted.get(i), acceptedIndexes.get(i), result);
+        }
+    }
+
+    private void persistOneByOne(List<CrimeReport> reports, List<Integer> indexes, BatchIngestResult result) {
+        for (int i = 0; i < reports.size(); i++) {
+            CrimeReport report = reports.get(i);
+            report.setId(null);
+            try {
+                transactionTemplate.executeWithoutResult(status -> saveWithReferences(List.of(report)));
+            } catch (RuntimeException single) {
+                report.setId(null);
+                result.addRejected(indexes.get(i), "Could not be saved");
+                continue;
+            }
+            recordCreated(report, indexes.get(i), result);
+        }
+    }
+
+    // Swap the id-only objects from the request for proxies so no row is loaded per report
+    private void saveWithReferences(List<CrimeReport> reports) {
+        for (CrimeReport report : reports) {
+            report.setCategory(crimeCategoryRepository.getReferenceById(report.getCategory().getId()));
+            report.setReportedBy(userRepository.getReferenceById(report.getReportedBy().getId()));
+        }
+        crimeReportRepository.saveAll(reports);
+    }
+
+    private void recordCreated(CrimeReport report, int index, BatchIngestResult result) {
+        result.addCreated(index, report.getId());
+        afterCommit(report, "analytics counters", () -> analyticsCounters.reportCreated(report));
+        afterCommit(report, "heatmap", () -> heatmapIndex.reportCreated(report));
+        afterCommit(report, "search index", () -> reportSearchIndex.index(report));
+        afterCommit(report, "audit log", () -> auditService.record(AuditActions.REPORT_CREATED,
+                "Crime report #" + report.getId() + ": " + report.getTitle()));
     }
 
-    public List<CrimeReport> getCrimeReportsByCategory(Long categoryId) {
-        return crimeReportRepository.findByCategoryId(categoryId);
+    /**
+     * Runs a post-commit hook for a stored report. A failure is logged and left to the hook's
+     * own reconciliation (counter reconcile, heatmap rebuild, index rebuild); the report stays created.
+     */
+    private static void afterCommit(CrimeReport report, String hook, Runnable action) {
+        try {
+            action.run();
+        } catch (RuntimeException e) {
+            log.warn("Could not update {} for crime report #{}", hook, report.getId(), e);
+        }
     }
 
-    public List<CrimeReport> getCrimeReportsByReporter(Long reportedById) {
-        return crimeReportRepository.findByReportedById(reportedById);
+    /**
+     * Reports within {@code radiusKm} of the point, nearest first. Circles crossing the
+     * antimeridian or a pole are rejected, as their bounding box would be clipped and
+     * results silently missed.
+     */
+    public List<NearbyReportDto> findReportsNear(double latitude, double longitude, double radiusKm,
+                                                 String status, Long categoryId, int limit) {
+        validatePoint(latitude, longitude);
+        if (!(radiusKm > 0 && radiusKm <= MAX_SEARCH_RADIUS_KM)) {
+            throw new IllegalArgumentException("Radius must be between 0 and " + MAX_SEARCH_RADIUS_KM + " km");
+        }
+        if (Math.abs(latitude) + GeoHash.latitudeDelta(radiusKm) > 90
+                || Math.abs(longitude) + GeoHash.longitudeDelta(radiusKm, latitude) > 180) {
+            throw new IllegalArgumentException("Search circles crossing a pole or the antimeridian are not supported");
+        }
+        return findNearest(latitude, longitude, radiusKm, radiusKm / 2, -90, -180, 90, 180, status, categoryId, limit);
+    }
+
+    /**
+     * Reports inside the bounding box, nearest to its centre first. Boxes crossing the
+     * antimeridian are not supported.
+     */
+    public List<NearbyReportDto> findReportsWithin(double minLat, double minLon, double maxLat, double maxLon,
+                                                   String status, Long categoryId, int limit) {
+        validatePoint(minLat, minLon);
+        validatePoint(maxLat, maxLon);
+        if (minLat > maxLat || minLon > maxLon) {
+            throw new IllegalArgumentException("Bounding box minimum must not exceed its maximum");
+        }
+        double centreLat = (minLat + maxLat) / 2;
+        double centreLon = (minLon + maxLon) / 2;
+        // The first pass reads the whole box; if that is too dense, shrink from half the centre-corner distance
+        double shrinkFromKm = Math.max(GeoHash.distanceKm(centreLat, centreLon, minLat, minLon),
+                GeoHash.distanceKm(centreLat, centreLon, maxLat, maxLon)) / 2;
+        return findNearest(centreLat, centreLon, Double.POSITIVE_INFINITY, shrinkFromKm,
+                minLat, minLon, maxLat, maxLon, status, categoryId, limit);
+    }
+
+    /**
+     * The {@code limit} reports nearest to the point, within {@code radiusKm} (infinite: the
+     * whole bounds) and the bounds. Candidates are only ranked when the index returned every
+     * row of the searched box. When the box holds more than MAX_SPATIAL_CANDIDATES rows the
+     * search shrinks to {@code shrinkFromKm}, then keeps halving, until it does not; that
+     * answer is exact as long as the smaller circle still holds {@code limit} hits, otherwise
+     * the area is too dense to answer and the request is rejected.
+     */
+    private List<NearbyReportDto> findNearest(double latitude, double longitude, double radiusKm,
+                                              double shrinkFromKm, double minLat, double minLon,
+                                              double maxLat, double maxLon, String status, Long categoryId,
+                                              int limit) {
+        int resultLimit = limit < 1 ? DEFAULT_SPATIAL_LIMIT : Math.min(limit, MAX_SPATIAL_LIMIT);
+        double radius = radiusKm;
+        double nextRadius = shrinkFromKm;
+        while (true) {
+            double dLat = GeoHash.latitudeDelta(radius);
+            double dLon = GeoHash.longitudeDelta(radius, latitude);
+            List<CrimeReportDto> candidates = findSpatialCandidates(
+                    Math.max(minLat, latitude - dLat), Math.max(minLon, longitude - dLon),
+                    Math.min(maxLat, latitude + dLat), Math.min(maxLon, longitude + dLon), status, categoryId);
+            if (candidates.size() <= MAX_SPATIAL_CANDIDATES) {
+                List<NearbyReportDto> hits = rankByDistance(candidates, latitude, longitude, radius, resultLimit);
+                if (radius == radiusKm || hits.size() >= resultLimit) {
+                    return hits;
+                }
+                break;
+            }
+            if (nextRadius < MIN_SEARCH_RADIUS_KM) {
+                break;
+            }
+            radius = nextRadius;
+            nextRadius = radius / 2;
+        }
+        throw new IllegalArgumentException("Too many reports in the search area; narrow the area or add filters");
+    }
+
+    // Fetches one row past the cap so a truncated candidate set is detectable
+    private List<CrimeReportDto> findSpatialCandidates(double minLat, double minLon, double maxLat, double maxLon,
+                                                       String status, Long categoryId) {
+        minLat = Math.max(minLat, -90);
+        maxLat = Math.min(maxLat, 90);
+        minLon = Math.max(minLon, -180);
+        maxLon = Math.min(maxLon, 180);
+
+        // Up to four covering cells; unused slots repeat a cell, and a box too large to cover matches every geohash
+        List<String> cells = GeoHash.coverBoundingBox(minLat, minLon, maxLat, maxLon, CrimeReport.GEOHASH_PRECISION);
+        String[] patterns = new String[4];
+        for (int i = 0; i < patterns.length; i++) {
+            patterns[i] = cells.isEmpty() ? "%" : cells.get(Math.min(i, cells.size() - 1)) + "%";
+        }
+        return crimeReportRepository.findInBoundingBox(patterns[0], patterns[1], patterns[2], patterns[3],
+                minLat, minLon, maxLat, maxLon, status, categoryId, PageRequest.of(0, MAX_SPATIAL_CANDIDATES + 1));
+    }
+
+    private static List<NearbyReportDto> rankByDistance(List<CrimeReportDto> candidates, double latitude,
+                                                        double longitude, double maxDistanceKm, int limit) {
+        return candidates.stream()
+                .map(report -> new NearbyReportDto(report,
+                        GeoHash.distanceKm(latitude, longitude, report.getLatitude(), report.getLongitude())))
+                .filter(hit -> hit.getDistanceKm() <= maxDistanceKm)
+                .sorted(Comparator.comparingDouble(NearbyReportDto::getDistanceKm))
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    private static void validatePoint(double latitude, double longitude) {
+        if (!(Math.abs(latitude) <= 90 && Math.abs(longitude) <= 180)) {
+            throw new IllegalArgumentException("Coordinates out of range");
+        }
+    }
+
+    private CrimeReportDto toView(CrimeReport crimeReport) {
+        return crimeReportRepository.findViewById(crimeReport.getId())
+                .orElseThrow(() -> new RuntimeException("Crime Report not found"));
     }
 } 
\ No newline at end of file
@@ -0,0 +1,59 @@
+package com.crms.crime;
+
+import com.crms.util.GeoHash;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fills crime_reports.geohash for rows written before the column existed or inserted
+ * outside JPA. New and updated reports get their geohash from the entity callbacks.
+ */
+@Component
+public class GeohashBackfill {
+
+    private static final Logger log = LoggerFactory.getLogger(GeohashBackfill.class);
+
+    private static final int BATCH_SIZE = 1000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        try {
+            long lastId = 0;
+            long updated = 0;
+            while (true) {
+                List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+                jdbcTemplate.query("SELECT id, latitude, longitude FROM crime_reports " +
+                                "WHERE geohash IS NULL AND latitude IS NOT NULL AND longitude IS NOT NULL AND id > ? " +
+                                "ORDER BY id LIMIT ?",
+                        rs -> {
+                            batch.add(new Object[]{GeoHash.encode(rs.getDouble("latitude"), rs.getDouble("longitude"),
+                                    CrimeReport.GEOHASH_PRECISION), rs.getLong("id")});
+                        }, lastId, BATCH_SIZE);
+                if (batch.isEmpty()) {
+                    break;
+                }
+                // updated_at = updated_at stops ON UPDATE CURRENT_TIMESTAMP from touching it
+                jdbcTemplate.batchUpdate(
+                        "UPDATE crime_reports SET geohash = ?, updated_at = updated_at WHERE id = ?", batch);
+                lastId = (Long) batch.get(batch.size() - 1)[1];
+                updated += batch.size();
+            }
+            if (updated > 0) {
+                log.info("Backfilled geohash for {} crime reports", updated);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Geohash backfill failed", e);
+        }
+    }
+}
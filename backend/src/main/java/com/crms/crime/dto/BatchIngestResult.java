@@ -0,0 +1,42 @@
+package com.crms.crime.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/** Outcome of a bulk report upload, with one entry per submitted item in input order. */
+@Data
+@NoArgsConstructor
+public class BatchIngestResult {
+    private int received;
+    private int created;
+    private int rejected;
+    private boolean truncated;
+    private List<ItemResult> items = new ArrayList<>();
+
+    public void addCreated(int index, Long id) {
+        items.add(new ItemResult(index, id, ItemResult.CREATED, null));
+        created++;
+    }
+
+    public void addRejected(int index, String error) {
+        items.add(new ItemResult(index, null, ItemResult.REJECTED, error));
+        rejected++;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ItemResult {
+        public static final String CREATED = "CREATED";
+        public static final String REJECTED = "REJECTED";
+
+        private int index;
+        private Long id;
+        private String status;
+        private String error;
+    }
+}
@@ -0,0 +1,42 @@
+package com.crms.crime.dto;
+
+import com.crms.user.dto.UserRef;
+import com.crms.util.NamedRef;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/** Read model for crime reports, fetched with a single JOIN query per list. */
+@Data
+@NoArgsConstructor
+public class CrimeReportDto {
+    private Long id;
+    private String title;
+    private String description;
+    private NamedRef category;
+    private String location;
+    private Double latitude;
+    private Double longitude;
+    private UserRef reportedBy;
+    private String status;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    // Flat constructor used by JPQL constructor expressions
+    public CrimeReportDto(Long id, String title, String description, Long categoryId, String categoryName,
+                          String location, Double latitude, Double longitude, Long reportedById,
+                          String reportedByName, String status, LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this.id = id;
+        this.title = title;
+        this.description = description;
+        this.category = NamedRef.of(categoryId, categoryName);
+        this.location = location;
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.reportedBy = UserRef.of(reportedById, reportedByName);
+        this.status = status;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+}
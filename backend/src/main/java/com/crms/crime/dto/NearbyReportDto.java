@@ -0,0 +1,14 @@
+package com.crms.crime.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** A spatial search hit with its distance from the search point (or box centre). */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NearbyReportDto {
+    private CrimeReportDto report;
+    private double distanceKm;
+}
@@ -0,0 +1,429 @@
+package com.crms.datagen;
+
+import com.crms.analytics.AnalyticsCounters;
+import com.crms.analytics.HeatmapIndex;
+import com.crms.analytics.hotspot.HotspotDetectionService;
+import com.crms.analytics.rollup.AnalyticsRollupService;
+import com.crms.audit.AuditActions;
+import com.crms.crime.CrimeReport;
+import com.crms.message.Message;
+import com.crms.search.CommunicationSearchIndex;
+import com.crms.search.ReportSearchIndex;
+import com.crms.util.GeoHash;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Fills the database with production-scale synthetic data for sizing and load testing.
+ * Disabled unless {@code crms.datagen.enabled=true}; run it against a scratch database:
+ * <pre>
+ * mvn spring-boot:run -Dspring-boot.run.arguments="--crms.datagen.enabled=true --crms.datagen.reports=2000000"
+ * </pre>
+ * Rows are written with batched JDBC inserts and explicit ids, bypassing JPA. Categories
+ * follow a Zipf distribution, coordinates cluster around hotspots in the seeded
+ * jurisdictions, and cases move through Open / Under Investigation / Closed based on age.
+ */
+@Component
+@ConditionalOnProperty(name = "crms.datagen.enabled", havingValue = "true")
+public class SyntheticDataGenerator implements CommandLineRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(SyntheticDataGenerator.class);
+
+    private static final String[] TITLES = {
+            "Mobile phone snatched", "House break-in", "Vehicle stolen", "Online banking fraud",
+            "Street fight", "Drug possession", "ATM skimming", "Chain snatching", "Phishing email",
+            "Shop burglary", "Domestic dispute", "Counterfeit currency"
+    };
+    private static final String[] AUDIT_ACTIONS = {
+            AuditActions.USER_LOGIN, AuditActions.REPORT_CREATED, AuditActions.REPORT_UPDATED,
+            AuditActions.CASE_CREATED, AuditActions.CASE_UPDATED, AuditActions.CASE_CLOSED, AuditActions.MESSAGE_SENT
+    };
+    private static final String[] FILE_TYPES = {"image/jpeg", "image/png", "application/pdf", "video/mp4"};
+    private static final String[] FILE_EXTENSIONS = {"jpg", "png", "pdf", "mp4"};
+
+    // Approximate city centres of the jurisdictions seeded by schema.sql
+    private static final Map<String, double[]> JURISDICTION_CENTRES = Map.of(
+            "Mumbai Police", new double[]{19.0760, 72.8777},
+            "Delhi Police", new double[]{28.6139, 77.2090},
+            "Bangalore Police", new double[]{12.9716, 77.5946},
+            "Chennai Police", new double[]{13.0827, 80.2707},
+            "Kolkata Police", new double[]{22.5726, 88.3639});
+    private static final int HOTSPOTS_PER_JURISDICTION = 8;
+    // Must match the allocationSize of the id generator on CrimeReport
+    private static final int REPORT_ID_ALLOCATION = 50;
+    // Must match the allocationSize of the id generator on Message
+    private static final int MESSAGE_ID_ALLOCATION = 50;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private AnalyticsCounters analyticsCounters;
+
+    @Autowired
+    private AnalyticsRollupService analyticsRollupService;
+
+    @Autowired
+    private HeatmapIndex heatmapIndex;
+
+    @Autowired
+    private HotspotDetectionService hotspotDetectionService;
+
+    @Autowired
+    private ReportSearchIndex reportSearchIndex;
+
+    @Autowired
+    private CommunicationSearchIndex communicationSearchIndex;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Value("${crms.datagen.seed:42}")
+    private long seed;
+
+    @Value("${crms.datagen.batch-size:5000}")
+    private int batchSize;
+
+    @Value("${crms.datagen.history-days:730}")
+    private int historyDays;
+
+    @Value("${crms.datagen.officers:500}")
+    private int officerCount;
+
+    @Value("${crms.datagen.reports:1000000}")
+    private int reportCount;
+
+    @Value("${crms.datagen.case-ratio:0.6}")
+    private double caseRatio;
+
+    @Value("${crms.datagen.files:100000}")
+    private int fileCount;
+
+    @Value("${crms.datagen.messages:500000}")
+    private int messageCount;
+
+    @Value("${crms.datagen.audit-logs:2000000}")
+    private int auditLogCount;
+
+    @Value("${crms.datagen.exit-when-done:true}")
+    private boolean exitWhenDone;
+
+    private Random random;
+    private LocalDateTime now;
+    private long[] userIds;
+    private long[] officerIds;
+    private long[] categoryIds;
+    private double[] categoryWeights;
+    private List<Hotspot> hotspots;
+
+    @Override
+    public void run(String... args) {
+        random = new Random(seed);
+        now = LocalDateTime.now();
+        long started = System.nanoTime();
+
+        loadReferenceData();
+        insertOfficers();
+        insertReportsAndCases();
+        long firstFileId = insertFiles();
+        insertMessages(firstFileId);
+        insertAuditLogs();
+        refreshAnalytics();
+
+        log.info("Synthetic data generation finished in {}s", Duration.ofNanos(System.nanoTime() - started).toSeconds());
+        if (exitWhenDone) {
+            System.exit(SpringApplication.exit(applicationContext, () -> 0));
+        }
+    }
+
+    private void loadReferenceData() {
+        List<Long> categories = jdbcTemplate.queryForList("SELECT id FROM crime_categories ORDER BY id", Long.class);
+        if (categories.isEmpty()) {
+            throw new IllegalStateException("No crime categories found; load schema.sql first");
+        }
+        categoryIds = categories.stream().mapToLong(Long::longValue).toArray();
+        // Zipf-like skew: the first categories (theft, assault, ...) dominate
+        categoryWeights = cumulative(categoryIds.length, 1.1);
+
+        hotspots = new ArrayList<>();
+        jdbcTemplate.query("SELECT id, name FROM jurisdictions", rs -> {
+            double[] centre = JURISDICTION_CENTRES.get(rs.getString("name"));
+            if (centre != null) {
+                for (int i = 0; i < HOTSPOTS_PER_JURISDICTION; i++) {
+                    hotspots.add(new Hotspot(rs.getString("name"),
+                            centre[0] + random.nextGaussian() * 0.05,
+                            centre[1] + random.nextGaussian() * 0.05));
+                }
+            }
+        });
+        if (hotspots.isEmpty()) {
+            hotspots.add(new Hotspot("Unknown", 20.5937, 78.9629));
+        }
+    }
+
+    private void insertOfficers() {
+        Long officerRoleId = jdbcTemplate.queryForObject("SELECT id FROM roles WHERE name = 'OFFICER'", Long.class);
+        List<Long> departmentIds = jdbcTemplate.queryForList("SELECT id FROM departments", Long.class);
+        String passwordHash = passwordEncoder.encode("password123");
+        String sql = "INSERT INTO users (id, username, password, full_name, email, phone, role_id, department_id, "
+                + "is_active, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        long firstId = nextId("users");
+
+        List<Object[]> rows = new ArrayList<>(batchSize);
+        for (int i = 0; i < officerCount; i++) {
+            long id = firstId + i;
+            Timestamp createdAt = Timestamp.valueOf(now.minusDays(historyDays + random.nextInt(365)));
+            rows.add(new Object[]{id, "gen_officer_" + id, passwordHash, "Officer " + id,
+                    "gen_officer_" + id + "@crms.example", "+91-90000" + String.format("%05d", i % 100000),
+                    officerRoleId, departmentIds.isEmpty() ? null : departmentIds.get(random.nextInt(departmentIds.size())),
+                    true, createdAt, createdAt});
+            flushIfFull(sql, rows);
+        }
+        flush(sql, rows);
+
+        userIds = jdbcTemplate.queryForList("SELECT id FROM users", Long.class).stream().mapToLong(Long::longValue).toArray();
+        officerIds = jdbcTemplate.queryForList("SELECT u.id FROM users u JOIN roles r ON u.role_id = r.id "
+                + "WHERE r.name = 'OFFICER'", Long.class).stream().mapToLong(Long::longValue).toArray();
+        log.info("Inserted {} officers", officerCount);
+    }
+
+    private void insertReportsAndCases() {
+        String reportSql = "INSERT INTO crime_reports (id, title, description, category_id, location, latitude, longitude, "
+                + "geohash, reported_by, status, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        String caseSql = "INSERT INTO cases (id, crime_report_id, assigned_to, status, opened_at, closed_at, notes, "
+                + "updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+        String assignmentSql = "INSERT INTO case_assignments (id, case_id, user_id, assigned_at) VALUES (?, ?, ?, ?)";
+
+        long reportId = nextId("crime_reports");
+        long caseId = nextId("cases");
+        long assignmentId = nextId("case_assignments");
+        List<Object[]> reports = new ArrayList<>(batchSize);
+        List<Object[]> cases = new ArrayList<>(batchSize);
+        List<Object[]> assignments = new ArrayList<>(batchSize);
+        long started = System.nanoTime();
+        int caseCount = 0;
+
+        for (int i = 0; i < reportCount; i++, reportId++) {
+            LocalDateTime createdAt = randomTimestamp();
+            long categoryId = categoryIds[pickWeighted(categoryWeights)];
+            Hotspot hotspot = hotspots.get(random.nextInt(hotspots.size()));
+            String title = TITLES[random.nextInt(TITLES.length)];
+            String reportStatus = "Open";
+            LocalDateTime reportUpdatedAt = createdAt;
+
+            if (random.nextDouble() < caseRatio) {
+                // Cases open a few hours after the report; resolution time is log-normal around ten days
+                LocalDateTime openedAt = createdAt.plusMinutes((long) (random.nextDouble() * 12 * 60));
+                LocalDateTime resolvesAt = openedAt.plusMinutes((long) (Math.exp(Math.log(10 * 24 * 60)
+                        + random.nextGaussian() * 0.8)));
+                LocalDateTime closedAt = resolvesAt.isBefore(now) ? resolvesAt : null;
+                String caseStatus = closedAt != null ? "Closed"
+                        : openedAt.isBefore(now.minusDays(1)) ? "Under Investigation" : "Open";
+                long assignee = officerIds[random.nextInt(officerIds.length)];
+                LocalDateTime caseUpdatedAt = closedAt != null ? closedAt : openedAt;
+
+                cases.add(new Object[]{caseId, reportId, assignee, caseStatus, Timestamp.valueOf(openedAt),
+                        closedAt != null ? Timestamp.valueOf(closedAt) : null,
+                        "Generated case for report " + reportId, Timestamp.valueOf(caseUpdatedAt)});
+                int collaborators = 1 + random.nextInt(3);
+                for (int a = 0; a < collaborators; a++) {
+                    long userId = a == 0 ? assignee : officerIds[random.nextInt(officerIds.length)];
+                    assignments.add(new Object[]{assignmentId++, caseId, userId,
+                            Timestamp.valueOf(openedAt.plusMinutes(a * 30L))});
+                }
+                caseId++;
+                caseCount++;
+                reportStatus = caseStatus;
+                reportUpdatedAt = caseUpdatedAt;
+            }
+
+            double latitude = hotspot.latitude + random.nextGaussian() * 0.01;
+            double longitude = hotspot.longitude + random.nextGaussian() * 0.01;
+            reports.add(new Object[]{reportId, title, title + " reported near " + hotspot.name + ". Synthetic record.",
+                    categoryId, "Sector " + (1 + random.nextInt(40)) + ", " + hotspot.name, latitude, longitude,
+                    GeoHash.encode(latitude, longitude, CrimeReport.GEOHASH_PRECISION),
+                    userIds[random.nextInt(userIds.length)], reportStatus,
+                    Timestamp.valueOf(createdAt), Timestamp.valueOf(reportUpdatedAt)});
+
+            if (reports.size() >= batchSize) {
+                // Parents before children so foreign keys hold
+                flush(reportSql, reports);
+                flush(caseSql, cases);
+                flush(assignmentSql, assignments);
+                logProgress("crime_reports", i + 1, reportCount, started);
+            }
+        }
+        flush(reportSql, reports);
+        flush(caseSql, cases);
+        flush(assignmentSql, assignments);
+        // Move Hibernate's pooled sequence past the explicit ids used above
+        jdbcTemplate.update("UPDATE crime_reports_seq SET next_val = GREATEST(next_val, ?)",
+                reportId + REPORT_ID_ALLOCATION);
+        log.info("Inserted {} crime reports and {} cases", reportCount, caseCount);
+    }
+
+    /** Returns the id of the first generated file. */
+    private long insertFiles() {
+        String sql = "INSERT INTO files (id, file_name, file_type, file_size, file_path, uploaded_by, uploaded_at) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?)";
+        long firstId = nextId("files");
+        List<Object[]> rows = new ArrayList<>(batchSize);
+        for (int i = 0; i < fileCount; i++) {
+            long id = firstId + i;
+            int type = random.nextInt(FILE_TYPES.length);
+            rows.add(new Object[]{id, "evidence_" + id + "." + FILE_EXTENSIONS[type], FILE_TYPES[type],
+                    10_000L + random.nextInt(5_000_000), "uploads/generated/" + id + "." + FILE_EXTENSIONS[type],
+                    officerIds[random.nextInt(officerIds.length)], Timestamp.valueOf(randomTimestamp())});
+            flushIfFull(sql, rows);
+        }
+        flush(sql, rows);
+        log.info("Inserted {} files", fileCount);
+        return firstId;
+    }
+
+    private void insertMessages(long firstFileId) {
+        String sql = "INSERT INTO messages (id, sender_id, receiver_id, conversation_key, subject, content, file_id, "
+                + "sent_at, is_read, is_encrypted) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        long messageId = nextId("messages");
+        List<Object[]> rows = new ArrayList<>(batchSize);
+        long started = System.nanoTime();
+        for (int i = 0; i < messageCount; i++) {
+            long sender = officerIds[random.nextInt(officerIds.length)];
+            long receiver = officerIds[random.nextInt(officerIds.length)];
+            LocalDateTime sentAt = randomTimestamp();
+            Long fileId = fileCount > 0 && random.nextDouble() < 0.1 ? firstFileId + random.nextInt(fileCount) : null;
+            boolean read = sentAt.isBefore(now.minusDays(2)) || random.nextBoolean();
+            rows.add(new Object[]{messageId++, sender, receiver, Message.conversationKey(sender, receiver),
+                    "Case update " + random.nextInt(100_000),
+                    "Please review the latest evidence and update the case notes.", fileId,
+                    Timestamp.valueOf(sentAt), read, false});
+            if (rows.size() >= batchSize) {
+                flush(sql, rows);
+                logProgress("messages", i + 1, messageCount, started);
+            }
+        }
+        flush(sql, rows);
+        jdbcTemplate.update("UPDATE messages_seq SET next_val = GREATEST(next_val, ?)",
+                messageId + MESSAGE_ID_ALLOCATION);
+        log.info("Inserted {} messages", messageCount);
+    }
+
+    private void insertAuditLogs() {
+        String sql = "INSERT INTO audit_logs (id, user_id, action, details, created_at) VALUES (?, ?, ?, ?, ?)";
+        long auditId = nextId("audit_logs");
+        List<Object[]> rows = new ArrayList<>(batchSize);
+        long started = System.nanoTime();
+        for (int i = 0; i < auditLogCount; i++) {
+            String action = AUDIT_ACTIONS[random.nextInt(AUDIT_ACTIONS.length)];
+            rows.add(new Object[]{auditId++, userIds[random.nextInt(userIds.length)], action,
+                    "Synthetic " + action.toLowerCase() + " event", Timestamp.valueOf(randomTimestamp())});
+            if (rows.size() >= batchSize) {
+                flush(sql, rows);
+                logProgress("audit_logs", i + 1, auditLogCount, started);
+            }
+        }
+        flush(sql, rows);
+        log.info("Inserted {} audit logs", auditLogCount);
+    }
+
+    /**
+     * Generated rows carry historical updated_at values that are behind the rollup
+     * watermark, so every generated day is flagged explicitly before refreshing, and
+     * the in-memory and on-disk indexes are rebuilt rather than caught up.
+     */
+    private void refreshAnalytics() {
+        for (LocalDate day = now.toLocalDate().minusDays(historyDays); !day.isAfter(now.toLocalDate());
+             day = day.plusDays(1)) {
+            analyticsRollupService.markReportDayDirty(day.atStartOfDay());
+            analyticsRollupService.markCaseDayDirty(day.atStartOfDay());
+        }
+        analyticsRollupService.refresh();
+        analyticsCounters.rebuild();
+        heatmapIndex.rebuild();
+        hotspotDetectionService.detectAll();
+        reportSearchIndex.rebuild();
+        communicationSearchIndex.rebuild();
+    }
+
+    private long nextId(String table) {
+        Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+        return maxId + 1;
+    }
+
+    private void flushIfFull(String sql, List<Object[]> rows) {
+        if (rows.size() >= batchSize) {
+            flush(sql, rows);
+        }
+    }
+
+    private void flush(String sql, List<Object[]> rows) {
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, rows);
+            rows.clear();
+        }
+    }
+
+    private void logProgress(String table, int done, int total, long startedNanos) {
+        if (done % (batchSize * 20) == 0) {
+            double seconds = (System.nanoTime() - startedNanos) / 1e9;
+            log.info("{}: {}/{} rows ({} rows/s)", table, done, total, Math.round(done / seconds));
+        }
+    }
+
+    private LocalDateTime randomTimestamp() {
+        return now.minusSeconds((long) (random.nextDouble() * historyDays * 86_400L));
+    }
+
+    private int pickWeighted(double[] cumulativeWeights) {
+        int index = Arrays.binarySearch(cumulativeWeights, random.nextDouble());
+        return Math.min(index >= 0 ? index : -index - 1, cumulativeWeights.length - 1);
+    }
+
+    /** Cumulative, normalised Zipf weights for {@code n} ranks. */
+    private static double[] cumulative(int n, double exponent) {
+        double[] weights = new double[n];
+        double total = 0;
+        for (int i = 0; i < n; i++) {
+            total += 1 / Math.pow(i + 1, exponent);
+            weights[i] = total;
+        }
+        for (int i = 0; i < n; i++) {
+            weights[i] /= total;
+        }
+        return weights;
+    }
+
+    private static final class Hotspot {
+        final String name;
+        final double latitude;
+        final double longitude;
+
+        Hotspot(String jurisdiction, double latitude, double longitude) {
+            this.name = jurisdiction.replace(" Police", "");
+            this.latitude = latitude;
+            this.longitude = longitude;
+        }
+    }
+}
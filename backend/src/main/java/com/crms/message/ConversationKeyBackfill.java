@@ -0,0 +1,44 @@
+package com.crms.message;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fills messages.conversation_key for rows written before the column existed or inserted
+ * outside JPA. New messages get their key from the entity callbacks.
+ */
+@Component
+public class ConversationKeyBackfill {
+
+    private static final Logger log = LoggerFactory.getLogger(ConversationKeyBackfill.class);
+
+    private static final int BATCH_SIZE = 10000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        try {
+            long updated = 0;
+            int batch;
+            // The key is derived from the row itself, so each batch is one set-based UPDATE
+            do {
+                batch = jdbcTemplate.update("UPDATE messages SET conversation_key = " +
+                        "CONCAT(LEAST(sender_id, receiver_id), ':', GREATEST(sender_id, receiver_id)) " +
+                        "WHERE conversation_key IS NULL LIMIT ?", BATCH_SIZE);
+                updated += batch;
+            } while (batch == BATCH_SIZE);
+            if (updated > 0) {
+                log.info("Backfilled conversation key for {} messages", updated);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Conversation key backfill failed", e);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.crms.message;
+
+import com.crms.message.dto.InboxSummary;
+import com.crms.message.dto.MessageHeader;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-receiver unread count and latest message header, kept in memory so unread badges
+ * never load message entities. Entries are loaded on first use with index-only queries,
+ * then adjusted by MessageService on create/read/delete. Adjustments racing with a load
+ * may be counted twice or missed; entries expire after the configured TTL, which bounds
+ * any such drift.
+ */
+@Component
+public class InboxSummaryCache {
+
+    @Autowired
+    private MessageRepository messageRepository;
+
+    @Value("${crms.messages.inbox.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    @Value("${crms.messages.inbox.max-size:50000}")
+    private int maxSize;
+
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+
+    public InboxSummary getSummary(Long userId) {
+        Entry entry = entries.get(userId);
+        if (entry == null || entry.expiresAt < System.currentTimeMillis()) {
+            entry = load(userId);
+            if (entries.size() >= maxSize) {
+                evict();
+            }
+            entries.put(userId, entry);
+        }
+        return new InboxSummary(userId, entry.unreadCount, entry.lastMessage);
+    }
+
+    public void messageCreated(Message message) {
+        if (message.getReceiver() == null) {
+            return;
+        }
+        MessageHeader header = new MessageHeader(message.getId(),
+                message.getSender() != null ? message.getSender().getId() : null,
+                message.getSubject(), message.getSentAt(), message.getIsRead());
+        boolean unread = !Boolean.TRUE.equals(message.getIsRead());
+        entries.computeIfPresent(message.getReceiver().getId(), (id, entry) -> new Entry(
+                entry.unreadCount + (unread ? 1 : 0),
+                isNewer(header, entry.lastMessage) ? header : entry.lastMessage,
+                entry.expiresAt));
+    }
+
+    public void messagesRead(Long receiverId, Long lastMessageId, long count) {
+        entries.computeIfPresent(receiverId, (id, entry) -> new Entry(
+                Math.max(0, entry.unreadCount - count),
+                entry.lastMessage != null && entry.lastMessage.getId().equals(lastMessageId)
+                        ? new MessageHeader(entry.lastMessage.getId(), entry.lastMessage.getSenderId(),
+                                entry.lastMessage.getSubject(), entry.lastMessage.getSentAt(), true)
+                        : entry.lastMessage,
+                entry.expiresAt));
+    }
+
+    /** Drops the entry so the next read reloads it, e.g. after a delete. */
+    public void invalidate(Long receiverId) {
+        if (receiverId != null) {
+            entries.remove(receiverId);
+        }
+    }
+
+    private Entry load(Long userId) {
+        long unread = messageRepository.countUnread(userId);
+        MessageHeader latestUnread = first(messageRepository.findLatestHeaders(userId, false, PageRequest.of(0, 1)));
+        MessageHeader latestRead = first(messageRepository.findLatestHeaders(userId, true, PageRequest.of(0, 1)));
+        MessageHeader latest = isNewer(latestUnread, latestRead) ? latestUnread : latestRead;
+        return new Entry(unread, latest, System.currentTimeMillis() + ttlSeconds * 1000);
+    }
+
+    /** Drops expired entries; if the cache is still full, drops an arbitrary tenth of it. */
+    private void evict() {
+        long now = System.currentTimeMillis();
+        entries.values().removeIf(entry -> entry.expiresAt < now);
+        int excess = entries.size() - maxSize + Math.max(1, maxSize / 10);
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (excess-- > 0 && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    private static boolean isNewer(MessageHeader candidate, MessageHeader current) {
+        if (candidate == null) {
+            return false;
+        }
+        if (current == null || current.getSentAt() == null) {
+            return true;
+        }
+        return candidate.getSentAt() != null && (candidate.getSentAt().isAfter(current.getSentAt())
+                || candidate.getSentAt().equals(current.getSentAt()) && candidate.getId() > current.getId());
+    }
+
+    private static MessageHeader first(List<MessageHeader> headers) {
+        return headers.isEmpty() ? null : headers.get(0);
+    }
+
+    private static final class Entry {
+        final long unreadCount;
+        final MessageHeader lastMessage;
+        final long expiresAt;
+
+        Entry(long unreadCount, MessageHeader lastMessage, long expiresAt) {
+            this.unreadCount = unreadCount;
+            this.lastMessage = lastMessage;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
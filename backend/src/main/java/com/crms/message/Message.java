@@ -1,7 +1,9 @@
 package com.crms.message;
 
 import com.crms.file.File;
+import com.crms.message.crypto.MessageContentEncryption;
 import com.crms.user.User;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -9,13 +11,16 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "messages")
+@EntityListeners(MessageContentEncryption.class)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class Message {
+    // Pooled ids (blocks of 50) so Hibernate can batch broadcast inserts
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "messages_seq")
+    @SequenceGenerator(name = "messages_seq", sequenceName = "messages_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -26,11 +31,20 @@ public class Message {
     @JoinColumn(name = "receiver_id", nullable = false)
     private User receiver;
 
+    // "lowerUserId:higherUserId", the same for both directions; backs conversation paging
+    @Column(name = "conversation_key", length = 41)
+    private String conversationKey;
+
     private String subject;
 
-    @Column(columnDefinition = "TEXT")
+    // Plaintext; the content column holds storedContent, encrypted by MessageContentEncryption
+    @Transient
     private String content;
 
+    @JsonIgnore
+    @Column(name = "content", columnDefinition = "TEXT")
+    private String storedContent;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "file_id")
     private File file;
@@ -47,5 +61,21 @@ public class Message {
     @PrePersist
     protected void onCreate() {
         sentAt = LocalDateTime.now();
+        updateConversationKey();
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updateConversationKey();
+    }
+
+    public static String conversationKey(Long userId, Long otherUserId) {
+        return Math.min(userId, otherUserId) + ":" + Math.max(userId, otherUserId);
+    }
+
+    private void updateConversationKey() {
+        conversationKey = sender != null && receiver != null && sender.getId() != null && receiver.getId() != null
+                ? conversationKey(sender.getId(), receiver.getId())
+                : null;
     }
 } 
\ No newline at end of file
@@ -1,11 +1,22 @@
 package com.crms.message;
 
+import com.crms.message.dto.BroadcastRequest;
+import com.crms.message.dto.BulkReadRequest;
+import com.crms.message.dto.InboxSummary;
+import com.crms.message.dto.MessageDto;
+import com.crms.util.CursorPage;
+import com.crms.util.KeysetCursor;
+import com.crms.util.SecurityUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/messages")
@@ -15,12 +26,30 @@ public class MessageController {
     @Autowired
     private MessageService messageService;
 
+    @Autowired
+    private MessageStreamService messageStreamService;
+
     @GetMapping
     @PreAuthorize("hasAnyRole('ADMIN', 'OFFICER', 'ANALYST')")
     public ResponseEntity<List<Message>> getAllMessages() {
         return ResponseEntity.ok(messageService.getAllMessages());
     }
 
+    /**
+     * Server-Sent Events stream of messages received by the caller (event name "message",
+     * id = message id). Reconnect with Last-Event-ID to receive anything missed.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasAnyRole('ADMIN', 'OFFICER', 'ANALYST')")
+    public ResponseEntity<SseEmitter> streamMessages(
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        Long userId = SecurityUtils.currentUserId();
+        if (userId == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        return ResponseEntity.ok(messageStreamService.subscribe(userId, lastEventId));
+    }
+
     @GetMapping("/{id}")
     @PreAuthorize("hasAnyRole('ADMIN', 'OFFICER', 'ANALYST')")
     public ResponseEntity<Message> getMessageById(@PathVariable Long id) {
@@ -54,11 +83,19 @@ public class MessageController {
         return ResponseEntity.ok(messageService.getMessagesByReceiver(receiverId));
     }
 
+    /** Newest messages between two users; pass the returned nextCursor as {@code before} for older ones. */
     @GetMapping("/conversation/{user1Id}/{user2Id}")
     @PreAuthorize("hasAnyRole('ADMIN', 'OFFICER', 'ANALYST')")
-    public ResponseEntity<List<Message>> getMessagesBetweenUsers(
-            @PathVariable Long user1Id, @PathVariable Long user2Id) {
-        return ResponseEntity.ok(messageService.getMessagesBetweenUsers(user1Id, user2Id));
+    public ResponseEntity<CursorPage<MessageDto>> getMessagesBetweenUsers(
+            @PathVariable Long user1Id,
+            @PathVariable Long user2Id,
+            @RequestParam(required = false) String before,
+            @RequestParam(defaultValue = "" + KeysetCursor.DEFAULT_PAGE_SIZE) int size) {
+        try {
+            return ResponseEntity.ok(messageService.getConversationPage(user1Id, user2Id, before, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
 
     @GetMapping("/unread/{userId}")
@@ -67,6 +104,44 @@ public class MessageController {
         return ResponseEntity.ok(messageService.getUnreadMessagesForUser(userId));
     }
 
+    /** Unread count and latest message header for the inbox badge; never loads message bodies. */
+    @GetMapping("/summary/{userId}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'OFFICER', 'ANALYST')")
+    public ResponseEntity<InboxSummary> getInboxSummary(@PathVariable Long userId) {
+        return ResponseEntity.ok(messageService.getInboxSummary(userId));
+    }
+
+    /** Marks the listed messages of the caller read, or all of the caller's unread messages when no ids are given. */
+    @PutMapping("/read")
+    @PreAuthorize("hasAnyRole('ADMIN', 'OFFICER', 'ANALYST')")
+    public ResponseEntity<Map<String, Object>> markManyAsRead(@RequestBody BulkReadRequest request) {
+        Long userId = SecurityUtils.currentUserId();
+        if (userId == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        try {
+            int updated = messageService.markReceivedAsRead(userId, request.getMessageIds());
+            return ResponseEntity.ok(Map.of("updated", updated));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /** Sends one message from the caller to a list of users and/or a department. */
+    @PostMapping("/broadcast")
+    @PreAuthorize("hasAnyRole('ADMIN', 'OFFICER', 'ANALYST')")
+    public ResponseEntity<Map<String, Object>> broadcast(@RequestBody BroadcastRequest request) {
+        Long userId = SecurityUtils.currentUserId();
+        if (userId == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        try {
+            return ResponseEntity.ok(messageService.broadcast(userId, request));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @PutMapping("/{id}/read")
     @PreAuthorize("hasAnyRole('ADMIN', 'OFFICER', 'ANALYST')")
     public ResponseEntity<Message> markAsRead(@PathVariable Long id) {
@@ -1,15 +1,73 @@
 package com.crms.message;
 
+import com.crms.message.dto.MessageDto;
+import com.crms.message.dto.MessageHeader;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface MessageRepository extends JpaRepository<Message, Long> {
+    // content is selected in its stored (encrypted) form; callers decrypt with MessageEncryptor
+    String VIEW_SELECT = "SELECT new com.crms.message.dto.MessageDto(m.id, s.id, s.fullName, r.id, r.fullName, " +
+            "m.subject, m.storedContent, f.id, m.sentAt, m.isEncrypted, m.isRead) " +
+            "FROM Message m JOIN m.sender s JOIN m.receiver r LEFT JOIN m.file f ";
+
     List<Message> findBySenderId(Long senderId);
     List<Message> findByReceiverId(Long receiverId);
-    List<Message> findBySenderIdAndReceiverIdOrReceiverIdAndSenderId(
-            Long senderId, Long receiverId, Long receiverId2, Long senderId2);
     List<Message> findByReceiverIdAndIsReadFalse(Long receiverId);
+
+    @Query(VIEW_SELECT + "WHERE m.id = :id")
+    Optional<MessageDto> findViewById(@Param("id") Long id);
+
+    /**
+     * Keyset page of one conversation, newest first. The equality on conversation_key plus
+     * the (sent_at, id) bound is a single range scan of idx_messages_conversation_sent.
+     */
+    @Query(VIEW_SELECT + "WHERE m.conversationKey = :conversationKey " +
+            "AND (:cursorSentAt IS NULL OR m.sentAt < :cursorSentAt " +
+            "OR (m.sentAt = :cursorSentAt AND m.id < :cursorId)) " +
+            "ORDER BY m.sentAt DESC, m.id DESC")
+    List<MessageDto> findConversationPage(@Param("conversationKey") String conversationKey,
+                                          @Param("cursorSentAt") LocalDateTime cursorSentAt,
+                                          @Param("cursorId") Long cursorId,
+                                          Pageable pageable);
+
+    /** Messages received after {@code afterId}, oldest first; used to replay missed stream events. */
+    @Query(VIEW_SELECT + "WHERE r.id = :receiverId AND m.id > :afterId ORDER BY m.id ASC")
+    List<MessageDto> findViewsReceivedAfter(@Param("receiverId") Long receiverId, @Param("afterId") Long afterId,
+                                            Pageable pageable);
+
+    @Query("SELECT COUNT(m) FROM Message m WHERE m.receiver.id = :receiverId AND m.isRead = false")
+    long countUnread(@Param("receiverId") Long receiverId);
+
+    // isRead is fixed so the (receiver_id, is_read, sent_at) index serves the ORDER BY
+    @Query("SELECT new com.crms.message.dto.MessageHeader(m.id, m.sender.id, m.subject, m.sentAt, m.isRead) " +
+            "FROM Message m WHERE m.receiver.id = :receiverId AND m.isRead = :isRead " +
+            "ORDER BY m.sentAt DESC, m.id DESC")
+    List<MessageHeader> findLatestHeaders(@Param("receiverId") Long receiverId, @Param("isRead") Boolean isRead,
+                                          Pageable pageable);
+
+    @Query("SELECT m.receiver.id FROM Message m WHERE m.id = :id")
+    Optional<Long> findReceiverIdById(@Param("id") Long id);
+
+    @Query(VIEW_SELECT + "WHERE m.id IN :ids")
+    List<MessageDto> findViewsByIds(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("UPDATE Message m SET m.isRead = true WHERE m.receiver.id = :receiverId AND m.isRead = false")
+    int markAllRead(@Param("receiverId") Long receiverId);
+
+    @Modifying
+    @Query("UPDATE Message m SET m.isRead = true " +
+            "WHERE m.receiver.id = :receiverId AND m.isRead = false AND m.id IN :ids")
+    int markRead(@Param("receiverId") Long receiverId, @Param("ids") Collection<Long> ids);
 } 
\ No newline at end of file
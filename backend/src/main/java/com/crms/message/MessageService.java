@@ -1,12 +1,31 @@
 package com.crms.message;
 
+import com.crms.audit.AuditActions;
+import com.crms.audit.AuditService;
+import com.crms.message.crypto.MessageEncryptor;
+import com.crms.message.dto.BroadcastRequest;
+import com.crms.message.dto.InboxSummary;
+import com.crms.message.dto.MessageDto;
+import com.crms.search.CommunicationSearchIndex;
 import com.crms.user.User;
 import com.crms.user.UserRepository;
+import com.crms.util.CursorPage;
+import com.crms.util.KeysetCursor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 public class MessageService {
@@ -17,6 +36,30 @@ public class MessageService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private AuditService auditService;
+
+    @Autowired
+    private CommunicationSearchIndex communicationSearchIndex;
+
+    @Autowired
+    private MessageStreamService messageStreamService;
+
+    @Autowired
+    private InboxSummaryCache inboxSummaryCache;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MessageEncryptor messageEncryptor;
+
+    @Value("${crms.messages.broadcast.max-recipients:5000}")
+    private int maxBroadcastRecipients;
+
+    @Value("${crms.messages.bulk-read.max-ids:1000}")
+    private int maxBulkIds;
+
     public List<Message> getAllMessages() {
         return messageRepository.findAll();
     }
@@ -26,11 +69,27 @@ public class MessageService {
     }
 
     public Message createMessage(Message message) {
-        return messageRepository.save(message);
+        // Creates the conversation's data key, if needed, before the insert transaction starts
+        if (message.getSender() != null && message.getReceiver() != null
+                && message.getSender().getId() != null && message.getReceiver().getId() != null) {
+            messageEncryptor.prepareKeys(List.of(
+                    Message.conversationKey(message.getSender().getId(), message.getReceiver().getId())));
+        }
+        Message savedMessage = messageRepository.save(message);
+        communicationSearchIndex.indexMessage(savedMessage);
+        inboxSummaryCache.messageCreated(savedMessage);
+        publish(savedMessage);
+        auditService.record(AuditActions.MESSAGE_SENT, "Message #" + savedMessage.getId() + " to user #"
+                + (savedMessage.getReceiver() != null ? savedMessage.getReceiver().getId() : null));
+        return savedMessage;
     }
 
     public void deleteMessage(Long id) {
+        Long receiverId = messageRepository.findReceiverIdById(id).orElse(null);
         messageRepository.deleteById(id);
+        inboxSummaryCache.invalidate(receiverId);
+        communicationSearchIndex.deleteMessage(id);
+        auditService.record(AuditActions.MESSAGE_DELETED, "Message #" + id);
     }
 
     public List<Message> getMessagesBySender(Long senderId) {
@@ -41,9 +100,17 @@ public class MessageService {
         return messageRepository.findByReceiverId(receiverId);
     }
 
-    public List<Message> getMessagesBetweenUsers(Long user1Id, Long user2Id) {
-        return messageRepository.findBySenderIdAndReceiverIdOrReceiverIdAndSenderId(
-                user1Id, user2Id, user1Id, user2Id);
+    /**
+     * Keyset page of the conversation between two users, newest first; {@code before} is the
+     * nextCursor of the previous page.
+     */
+    public CursorPage<MessageDto> getConversationPage(Long user1Id, Long user2Id, String before, int size) {
+        KeysetCursor position = KeysetCursor.decode(before);
+        int pageSize = KeysetCursor.clampPageSize(size);
+        List<MessageDto> rows = messageRepository.findConversationPage(Message.conversationKey(user1Id, user2Id),
+                position.getTimestamp(), position.getId(), PageRequest.of(0, pageSize + 1));
+        rows.forEach(messageEncryptor::decrypt);
+        return KeysetCursor.toPage(rows, pageSize, MessageDto::getSentAt, MessageDto::getId);
     }
 
     public List<Message> getUnreadMessagesForUser(Long userId) {
@@ -53,7 +120,123 @@ public class MessageService {
     public Message markAsRead(Long messageId) {
         Message message = messageRepository.findById(messageId)
                 .orElseThrow(() -> new RuntimeException("Message not found"));
+        boolean wasUnread = !Boolean.TRUE.equals(message.getIsRead());
         message.setIsRead(true);
-        return messageRepository.save(message);
+        Message savedMessage = messageRepository.save(message);
+        if (wasUnread) {
+            inboxSummaryCache.messagesRead(savedMessage.getReceiver().getId(), savedMessage.getId(), 1);
+        }
+        return savedMessage;
+    }
+
+    /**
+     * Marks the receiver's unread messages read with one set-based UPDATE: all of them when
+     * {@code messageIds} is null, otherwise only the listed ones. Returns the rows changed.
+     */
+    public int markReceivedAsRead(Long receiverId, Collection<Long> messageIds) {
+        if (receiverId == null) {
+            throw new IllegalArgumentException("Receiver is required");
+        }
+        if (messageIds != null && messageIds.size() > maxBulkIds) {
+            throw new IllegalArgumentException("At most " + maxBulkIds + " message ids per request");
+        }
+        if (messageIds != null && messageIds.isEmpty()) {
+            return 0;
+        }
+        Integer updated = transactionTemplate.execute(status -> messageIds == null
+                ? messageRepository.markAllRead(receiverId)
+                : messageRepository.markRead(receiverId, messageIds));
+        if (updated != null && updated > 0) {
+            inboxSummaryCache.invalidate(receiverId);
+        }
+        return updated != null ? updated : 0;
+    }
+
+    /**
+     * Sends one message to each listed user and each active member of the department, the
+     * sender excluded. Rows are inserted in a single transaction with pooled ids, so
+     * Hibernate sends them as JDBC batches rather than one round trip per recipient.
+     */
+    public Map<String, Object> broadcast(Long senderId, BroadcastRequest request) {
+        if (request.getContent() == null || request.getContent().isBlank()) {
+            throw new IllegalArgumentException("Content is required");
+        }
+        Set<Long> recipientIds = new LinkedHashSet<>();
+        if (request.getReceiverIds() != null) {
+            recipientIds.addAll(request.getReceiverIds());
+            recipientIds.remove(null);
+        }
+        if (recipientIds.size() > maxBroadcastRecipients) {
+            throw new IllegalArgumentException("At most " + maxBroadcastRecipients + " recipients per broadcast");
+        }
+        List<Long> unknownIds = new ArrayList<>();
+        if (!recipientIds.isEmpty()) {
+            Set<Long> known = new HashSet<>(userRepository.findExistingIds(recipientIds));
+            recipientIds.stream().filter(id -> !known.contains(id)).forEach(unknownIds::add);
+            recipientIds.retainAll(known);
+        }
+        if (request.getDepartmentId() != null) {
+            recipientIds.addAll(userRepository.findActiveIdsByDepartmentId(request.getDepartmentId()));
+        }
+        recipientIds.remove(senderId);
+        if (recipientIds.isEmpty()) {
+            throw new IllegalArgumentException("No recipients");
+        }
+        if (recipientIds.size() > maxBroadcastRecipients) {
+            throw new IllegalArgumentException("At most " + maxBroadcastRecipients + " recipients per broadcast");
+        }
+        List<String> conversationKeys = new ArrayList<>(recipientIds.size());
+        recipientIds.forEach(id -> conversationKeys.add(Message.conversationKey(senderId, id)));
+        messageEncryptor.prepareKeys(conversationKeys);
+
+        User sender = userRepository.getReferenceById(senderId);
+        List<Message> messages = new ArrayList<>(recipientIds.size());
+        for (Long recipientId : recipientIds) {
+            messages.add(Message.builder()
+                    .sender(sender)
+                    .receiver(userRepository.getReferenceById(recipientId))
+                    .subject(request.getSubject())
+                    .content(request.getContent())
+                    .isEncrypted(true)
+                    .isRead(false)
+                    .build());
+        }
+        transactionTemplate.executeWithoutResult(status -> messageRepository.saveAll(messages));
+
+        List<Long> streamedIds = new ArrayList<>();
+        for (Message message : messages) {
+            communicationSearchIndex.indexMessage(message);
+            inboxSummaryCache.messageCreated(message);
+            if (messageStreamService.isSubscribed(message.getReceiver().getId())) {
+                streamedIds.add(message.getId());
+            }
+        }
+        if (!streamedIds.isEmpty()) {
+            messageRepository.findViewsByIds(streamedIds).stream()
+                    .map(messageEncryptor::decrypt)
+                    .forEach(messageStreamService::publish);
+        }
+        auditService.record(AuditActions.MESSAGES_BROADCAST, "Broadcast from user #" + senderId
+                + " to " + messages.size() + " users"
+                + (request.getDepartmentId() != null ? " (department #" + request.getDepartmentId() + ")" : ""));
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("sent", messages.size());
+        result.put("unknownReceiverIds", unknownIds);
+        return result;
+    }
+
+    public InboxSummary getInboxSummary(Long userId) {
+        return inboxSummaryCache.getSummary(userId);
+    }
+
+    // Only build the read model when the receiver actually has a stream open
+    private void publish(Message message) {
+        Long receiverId = message.getReceiver() != null ? message.getReceiver().getId() : null;
+        if (messageStreamService.isSubscribed(receiverId)) {
+            messageRepository.findViewById(message.getId())
+                    .map(messageEncryptor::decrypt)
+                    .ifPresent(messageStreamService::publish);
+        }
     }
 } 
\ No newline at end of file
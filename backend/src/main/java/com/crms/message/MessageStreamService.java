@@ -0,0 +1,297 @@
+package com.crms.message;
+
+import com.crms.message.crypto.MessageEncryptor;
+import com.crms.message.dto.MessageDto;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Pushes new messages to their receivers over Server-Sent Events. Each open stream is a
+ * servlet async request parked in Tomcat's NIO connector, so idle connections cost a
+ * socket and an emitter, not a thread. Sends run on a small fan-out pool so a slow
+ * client never delays the request that created the message. Every stream has its own
+ * queue, drained in order by one pool thread at a time, so a stalled client holds at
+ * most one thread; it is closed once its backlog passes {@code max-pending-events}.
+ *
+ * Event ids are message ids. A client reconnecting with Last-Event-ID is replayed the
+ * messages it received since then; live messages published meanwhile queue behind the
+ * replay, and a message that is both replayed and published is sent once.
+ */
+@Service
+public class MessageStreamService {
+
+    private static final Logger log = LoggerFactory.getLogger(MessageStreamService.class);
+
+    public static final String MESSAGE_EVENT = "message";
+
+    @Autowired
+    private MessageRepository messageRepository;
+
+    @Autowired
+    private MessageEncryptor messageEncryptor;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${crms.messages.stream.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    @Value("${crms.messages.stream.max-connections-per-user:5}")
+    private int maxConnectionsPerUser;
+
+    @Value("${crms.messages.stream.replay-limit:500}")
+    private int replayLimit;
+
+    @Value("${crms.messages.stream.fan-out-threads:4}")
+    private int fanOutThreads;
+
+    @Value("${crms.messages.stream.max-pending-events:1000}")
+    private int maxPendingEvents;
+
+    private final Map<Long, List<Subscription>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger connections = new AtomicInteger();
+    private ExecutorService fanOut;
+
+    @PostConstruct
+    public void start() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        fanOut = Executors.newFixedThreadPool(fanOutThreads, runnable -> {
+            Thread thread = new Thread(runnable, "message-stream-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        Gauge.builder("crms.messages.stream.connections", connections, AtomicInteger::get)
+                .description("Open message streams")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void stop() {
+        fanOut.shutdownNow();
+        subscribers.values().forEach(streams -> streams.forEach(stream -> stream.emitter.complete()));
+        subscribers.clear();
+    }
+
+    /**
+     * Opens a stream for {@code userId}. When {@code lastEventId} is given, messages
+     * received after it are replayed first. The oldest stream is closed when the user
+     * already has the maximum number open.
+     */
+    public SseEmitter subscribe(Long userId, Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscription subscription = new Subscription(userId, emitter, lastEventId != null ? lastEventId : 0);
+        Runnable remove = () -> {
+            subscription.closed = true;
+            unsubscribe(subscription);
+        };
+        emitter.onCompletion(remove);
+        emitter.onTimeout(remove);
+        emitter.onError(error -> remove.run());
+
+        // Queued before the stream is registered, so live messages are sent after the replay
+        if (lastEventId != null) {
+            subscription.enqueue(() -> replay(subscription, lastEventId));
+        }
+
+        List<Subscription> evicted = new ArrayList<>();
+        subscribers.compute(userId, (id, current) -> {
+            List<Subscription> streams = current != null ? current : new CopyOnWriteArrayList<>();
+            streams.add(subscription);
+            while (streams.size() > maxConnectionsPerUser) {
+                evicted.add(streams.remove(0));
+            }
+            return streams;
+        });
+        connections.addAndGet(1 - evicted.size());
+        evicted.forEach(Subscription::close);
+        return emitter;
+    }
+
+    /** Delivers a newly created message to every open stream of its receiver. */
+    public void publish(MessageDto message) {
+        if (message.getReceiver() == null) {
+            return;
+        }
+        List<Subscription> streams = subscribers.get(message.getReceiver().getId());
+        if (streams == null) {
+            return;
+        }
+        for (Subscription subscription : streams) {
+            subscription.enqueue(() -> sendMessage(subscription, message));
+        }
+    }
+
+    public boolean isSubscribed(Long userId) {
+        return userId != null && subscribers.containsKey(userId);
+    }
+
+    public int getConnectionCount() {
+        return connections.get();
+    }
+
+    /** Comment-only heartbeat so proxies keep idle streams open and dead clients are detected. */
+    @Scheduled(fixedDelayString = "${crms.messages.stream.heartbeat-interval-ms:15000}")
+    public void heartbeat() {
+        subscribers.values().forEach(streams -> streams.forEach(subscription -> subscription.enqueue(
+                () -> send(subscription, SseEmitter.event().comment("heartbeat")))));
+    }
+
+    private boolean replay(Subscription subscription, Long lastEventId) {
+        List<MessageDto> missed = messageRepository.findViewsReceivedAfter(subscription.userId, lastEventId,
+                PageRequest.of(0, replayLimit));
+        for (MessageDto message : missed) {
+            messageEncryptor.decrypt(message);
+            if (!sendMessage(subscription, message)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Runs on the stream's drainer; skips a message the replay already sent
+    private boolean sendMessage(Subscription subscription, MessageDto message) {
+        if (message.getId() <= subscription.lastMessageId) {
+            return true;
+        }
+        if (!send(subscription, SseEmitter.event()
+                .id(message.getId().toString())
+                .name(MESSAGE_EVENT)
+                .data(message))) {
+            return false;
+        }
+        subscription.lastMessageId = message.getId();
+        return true;
+    }
+
+    private boolean send(Subscription subscription, SseEmitter.SseEventBuilder event) {
+        try {
+            subscription.emitter.send(event);
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            // Client went away; the container will also report it, but drop it now
+            unsubscribe(subscription);
+            subscription.completed = true;
+            subscription.emitter.completeWithError(e);
+            return false;
+        }
+    }
+
+    private void unsubscribe(Subscription subscription) {
+        subscribers.computeIfPresent(subscription.userId, (id, streams) -> {
+            if (streams.remove(subscription)) {
+                connections.decrementAndGet();
+            }
+            return streams.isEmpty() ? null : streams;
+        });
+    }
+
+    private void submit(Runnable task) {
+        try {
+            fanOut.execute(task);
+        } catch (RejectedExecutionException e) {
+            log.debug("Message stream pool is shut down; dropping delivery");
+        }
+    }
+
+    /** One open stream and the events waiting to be sent to it, in order. */
+    private final class Subscription {
+
+        private final Long userId;
+        private final SseEmitter emitter;
+        // Deliveries return false once the stream has failed
+        private final Queue<BooleanSupplier> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger pending = new AtomicInteger();
+        // Set while a pool thread owns the queue; only that thread sends
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean closed;
+        // Only read and written by the drainer
+        private long lastMessageId;
+        private boolean completed;
+
+        private Subscription(Long userId, SseEmitter emitter, long lastMessageId) {
+            this.userId = userId;
+            this.emitter = emitter;
+            this.lastMessageId = lastMessageId;
+        }
+
+        private void enqueue(BooleanSupplier delivery) {
+            if (closed) {
+                return;
+            }
+            if (pending.incrementAndGet() > maxPendingEvents) {
+                // Stalled client; it reconnects with Last-Event-ID and is replayed
+                log.debug("Closing message stream of user {}: {} events pending", userId, maxPendingEvents);
+                unsubscribe(this);
+                close();
+                return;
+            }
+            queue.add(delivery);
+            schedule();
+        }
+
+        /** Stops delivery; the stream is completed by the drainer, after any send in progress. */
+        private void close() {
+            closed = true;
+            schedule();
+        }
+
+        private void schedule() {
+            if (draining.compareAndSet(false, true)) {
+                submit(this::drain);
+            }
+        }
+
+        private void drain() {
+            do {
+                BooleanSupplier delivery;
+                while (!closed && (delivery = queue.poll()) != null) {
+                    pending.decrementAndGet();
+                    try {
+                        if (!delivery.getAsBoolean()) {
+                            closed = true;
+                        }
+                    } catch (RuntimeException e) {
+                        // e.g. the replay query failed; the client reconnects and is replayed again
+                        log.warn("Closing message stream of user {}: {}", userId, e.getMessage());
+                        unsubscribe(this);
+                        closed = true;
+                    }
+                }
+                if (closed) {
+                    queue.clear();
+                    if (!completed) {
+                        completed = true;
+                        emitter.complete();
+                    }
+                }
+                draining.set(false);
+                // An event queued after the last poll but before the flag was cleared
+            } while (!closed && !queue.isEmpty() && draining.compareAndSet(false, true));
+        }
+    }
+}
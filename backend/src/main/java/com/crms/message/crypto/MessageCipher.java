@@ -0,0 +1,128 @@
+package com.crms.message.crypto;
+
+import javax.crypto.Cipher;
+import javax.crypto.KeyGenerator;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * AES-256-GCM for message content. Data keys are wrapped (encrypted) with the master key;
+ * content is encrypted with a data key and stored as {@code "v1:" + base64(iv || ciphertext || tag)}.
+ * The additional authenticated data binds a ciphertext to its conversation, so it cannot be
+ * replayed into another one.
+ * <p>
+ * Cipher and SecureRandom instances are per thread: {@code Cipher.getInstance} is a provider
+ * lookup, so reusing them keeps the per-message cost at the AES work itself. Every call
+ * re-initialises the cipher with a fresh random 96-bit IV.
+ */
+public class MessageCipher {
+
+    public static final String VERSION_PREFIX = "v1:";
+    public static final int KEY_BYTES = 32;
+
+    private static final String TRANSFORMATION = "AES/GCM/NoPadding";
+    private static final int IV_BYTES = 12;
+    private static final int TAG_BYTES = 16;
+
+    private static final ThreadLocal<Cipher> CIPHERS = ThreadLocal.withInitial(MessageCipher::newCipher);
+    private static final ThreadLocal<SecureRandom> RANDOMS = ThreadLocal.withInitial(SecureRandom::new);
+
+    private final SecretKey masterKey;
+
+    public MessageCipher(byte[] masterKey) {
+        if (masterKey == null || masterKey.length != KEY_BYTES) {
+            throw new IllegalArgumentException("Master key must be " + KEY_BYTES + " bytes");
+        }
+        this.masterKey = new SecretKeySpec(masterKey, "AES");
+    }
+
+    public static boolean isEncrypted(String stored) {
+        return stored != null && stored.startsWith(VERSION_PREFIX);
+    }
+
+    public SecretKey newDataKey() {
+        try {
+            KeyGenerator generator = KeyGenerator.getInstance("AES");
+            generator.init(KEY_BYTES * 8, RANDOMS.get());
+            return generator.generateKey();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot generate data key", e);
+        }
+    }
+
+    public byte[] wrap(SecretKey dataKey, byte[] aad) {
+        return seal(masterKey, aad, dataKey.getEncoded());
+    }
+
+    public SecretKey unwrap(byte[] wrapped, byte[] aad) {
+        return new SecretKeySpec(open(masterKey, aad, wrapped), "AES");
+    }
+
+    public String encrypt(SecretKey key, byte[] aad, String plaintext) {
+        byte[] sealed = seal(key, aad, plaintext.getBytes(StandardCharsets.UTF_8));
+        return VERSION_PREFIX + Base64.getEncoder().encodeToString(sealed);
+    }
+
+    public String decrypt(SecretKey key, byte[] aad, String stored) {
+        if (!isEncrypted(stored)) {
+            throw new IllegalArgumentException("Unsupported ciphertext format");
+        }
+        byte[] sealed = Base64.getDecoder().decode(stored.substring(VERSION_PREFIX.length()));
+        return new String(open(key, aad, sealed), StandardCharsets.UTF_8);
+    }
+
+    private byte[] seal(SecretKey key, byte[] aad, byte[] plaintext) {
+        byte[] sealed = new byte[IV_BYTES + plaintext.length + TAG_BYTES];
+        System.arraycopy(newIv(), 0, sealed, 0, IV_BYTES);
+        try {
+            Cipher cipher = init(Cipher.ENCRYPT_MODE, key, aad, sealed);
+            cipher.doFinal(plaintext, 0, plaintext.length, sealed, IV_BYTES);
+            return sealed;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Encryption failed", e);
+        }
+    }
+
+    private byte[] open(SecretKey key, byte[] aad, byte[] sealed) {
+        if (sealed.length < IV_BYTES + TAG_BYTES) {
+            throw new IllegalArgumentException("Ciphertext is truncated");
+        }
+        try {
+            Cipher cipher = init(Cipher.DECRYPT_MODE, key, aad, sealed);
+            return cipher.doFinal(sealed, IV_BYTES, sealed.length - IV_BYTES);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Decryption failed", e);
+        }
+    }
+
+    // The IV is the first IV_BYTES of iv
+    private static Cipher init(int mode, SecretKey key, byte[] aad, byte[] iv) {
+        Cipher cipher = CIPHERS.get();
+        try {
+            cipher.init(mode, key, new GCMParameterSpec(TAG_BYTES * 8, iv, 0, IV_BYTES));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot initialise cipher", e);
+        }
+        cipher.updateAAD(aad);
+        return cipher;
+    }
+
+    private static byte[] newIv() {
+        byte[] iv = new byte[IV_BYTES];
+        RANDOMS.get().nextBytes(iv);
+        return iv;
+    }
+
+    private static Cipher newCipher() {
+        try {
+            return Cipher.getInstance(TRANSFORMATION);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("AES-GCM is not available", e);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.crms.message.crypto;
+
+import com.crms.message.Message;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PrePersist;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+/**
+ * Entity listener that keeps Message.content plaintext in memory and ciphertext in the
+ * content column (Message.storedContent). Messages are never edited, so only inserts
+ * encrypt.
+ */
+@Component
+public class MessageContentEncryption {
+
+    // Lazy: listeners are resolved while the EntityManagerFactory that the encryptor needs is being built
+    @Lazy
+    @Autowired
+    private MessageEncryptor messageEncryptor;
+
+    @PrePersist
+    public void encrypt(Message message) {
+        String conversationKey = conversationKey(message);
+        if (conversationKey == null || message.getContent() == null) {
+            message.setStoredContent(message.getContent());
+            message.setIsEncrypted(false);
+            return;
+        }
+        message.setStoredContent(messageEncryptor.encrypt(conversationKey, message.getContent()));
+        message.setIsEncrypted(true);
+    }
+
+    @PostLoad
+    public void decrypt(Message message) {
+        String conversationKey = conversationKey(message);
+        message.setContent(conversationKey != null
+                ? messageEncryptor.decrypt(conversationKey, message.getStoredContent())
+                : message.getStoredContent());
+    }
+
+    // Entity listeners run before Message's own @PrePersist, so the key is derived here
+    static String conversationKey(Message message) {
+        if (message.getSender() == null || message.getReceiver() == null
+                || message.getSender().getId() == null || message.getReceiver().getId() == null) {
+            return null;
+        }
+        return Message.conversationKey(message.getSender().getId(), message.getReceiver().getId());
+    }
+}
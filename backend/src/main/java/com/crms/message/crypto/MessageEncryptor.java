@@ -0,0 +1,198 @@
+package com.crms.message.crypto;
+
+import com.crms.message.Message;
+import com.crms.message.dto.MessageDto;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Envelope encryption of message content: one AES data key per conversation, stored in
+ * conversation_keys wrapped by the configured master key. Unwrapped keys are kept in a
+ * bounded LRU cache, so encrypting or decrypting a page of messages only touches the
+ * database for conversations not seen recently.
+ */
+@Component
+public class MessageEncryptor {
+
+    private static final Logger log = LoggerFactory.getLogger(MessageEncryptor.class);
+
+    // Conversations looked up per IN query
+    private static final int LOOKUP_BATCH_SIZE = 500;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${crms.messages.encryption.master-key}")
+    private String masterKey;
+
+    @Value("${crms.messages.encryption.key-cache-size:10000}")
+    private int keyCacheSize;
+
+    private MessageCipher cipher;
+    private Map<String, SecretKey> keys;
+    private TransactionTemplate keyCreation;
+
+    @PostConstruct
+    public void init() {
+        cipher = new MessageCipher(Base64.getDecoder().decode(masterKey));
+        keys = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, SecretKey> eldest) {
+                return size() > keyCacheSize;
+            }
+        });
+        // New keys are committed on their own, so a key is never cached that a rollback removes
+        keyCreation = new TransactionTemplate(transactionManager);
+        keyCreation.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public String encrypt(String conversationKey, String plaintext) {
+        if (plaintext == null) {
+            return null;
+        }
+        return cipher.encrypt(getOrCreateKey(conversationKey), aad(conversationKey), plaintext);
+    }
+
+    /**
+     * Plaintext of stored content. Content written before encryption was enabled is returned
+     * as is; content that cannot be decrypted (missing key, wrong master key, tampering) is
+     * logged and returned as null rather than failing the whole page.
+     */
+    public String decrypt(String conversationKey, String stored) {
+        if (!MessageCipher.isEncrypted(stored)) {
+            return stored;
+        }
+        try {
+            SecretKey key = findKey(conversationKey);
+            if (key == null) {
+                log.warn("No data key for conversation {}", conversationKey);
+                return null;
+            }
+            return cipher.decrypt(key, aad(conversationKey), stored);
+        } catch (RuntimeException e) {
+            log.warn("Cannot decrypt message content of conversation {}", conversationKey, e);
+            return null;
+        }
+    }
+
+    public MessageDto decrypt(MessageDto message) {
+        if (message.getSender() != null && message.getReceiver() != null) {
+            message.setContent(decrypt(Message.conversationKey(message.getSender().getId(),
+                    message.getReceiver().getId()), message.getContent()));
+        }
+        return message;
+    }
+
+    /**
+     * Loads, or creates, the data keys of many conversations with a few set-based statements;
+     * called before bulk sends so the per-message encryption only hits the cache.
+     */
+    public void prepareKeys(Collection<String> conversationKeys) {
+        Set<String> missing = new LinkedHashSet<>();
+        for (String conversationKey : conversationKeys) {
+            if (conversationKey != null && !keys.containsKey(conversationKey)) {
+                missing.add(conversationKey);
+            }
+        }
+        if (missing.isEmpty()) {
+            return;
+        }
+        missing.removeAll(load(missing));
+        if (!missing.isEmpty()) {
+            create(missing);
+        }
+    }
+
+    private SecretKey getOrCreateKey(String conversationKey) {
+        SecretKey key = findKey(conversationKey);
+        if (key == null) {
+            create(List.of(conversationKey));
+            key = keys.get(conversationKey);
+        }
+        if (key == null) {
+            throw new IllegalStateException("Cannot create data key for conversation " + conversationKey);
+        }
+        return key;
+    }
+
+    private SecretKey findKey(String conversationKey) {
+        SecretKey key = keys.get(conversationKey);
+        if (key == null) {
+            load(List.of(conversationKey));
+            key = keys.get(conversationKey);
+        }
+        return key;
+    }
+
+    /** Unwraps and caches the stored keys among {@code conversationKeys}; returns the ones found. */
+    private Set<String> load(Collection<String> conversationKeys) {
+        Set<String> found = new LinkedHashSet<>();
+        List<String> batch = new ArrayList<>(Math.min(conversationKeys.size(), LOOKUP_BATCH_SIZE));
+        for (String conversationKey : conversationKeys) {
+            batch.add(conversationKey);
+            if (batch.size() >= LOOKUP_BATCH_SIZE) {
+                loadBatch(batch, found);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            loadBatch(batch, found);
+        }
+        return found;
+    }
+
+    private void loadBatch(List<String> conversationKeys, Set<String> found) {
+        String placeholders = String.join(", ", Collections.nCopies(conversationKeys.size(), "?"));
+        jdbcTemplate.query("SELECT conversation_key, wrapped_key FROM conversation_keys " +
+                        "WHERE conversation_key IN (" + placeholders + ")",
+                rs -> {
+                    String conversationKey = rs.getString("conversation_key");
+                    keys.put(conversationKey, cipher.unwrap(rs.getBytes("wrapped_key"), wrapAad(conversationKey)));
+                    found.add(conversationKey);
+                }, conversationKeys.toArray());
+    }
+
+    // INSERT IGNORE lets concurrent creators race safely; everyone then reads back the winner's key
+    private void create(Collection<String> conversationKeys) {
+        List<Object[]> rows = new ArrayList<>(conversationKeys.size());
+        for (String conversationKey : conversationKeys) {
+            rows.add(new Object[]{conversationKey, cipher.wrap(cipher.newDataKey(), wrapAad(conversationKey))});
+        }
+        keyCreation.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate(
+                    "INSERT IGNORE INTO conversation_keys (conversation_key, wrapped_key) VALUES (?, ?)", rows);
+            load(conversationKeys);
+        });
+    }
+
+    private static byte[] aad(String conversationKey) {
+        return conversationKey.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] wrapAad(String conversationKey) {
+        return ("key:" + conversationKey).getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,14 @@
+package com.crms.message.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+/** One message from the caller to every listed user and/or every active member of a department. */
+@Data
+public class BroadcastRequest {
+    private List<Long> receiverIds;
+    private Long departmentId;
+    private String subject;
+    private String content;
+}
@@ -0,0 +1,11 @@
+package com.crms.message.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+/** Ids of the caller's messages to mark read; null marks every unread message. */
+@Data
+public class BulkReadRequest {
+    private List<Long> messageIds;
+}
@@ -0,0 +1,14 @@
+package com.crms.message.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class InboxSummary {
+    private Long userId;
+    private long unreadCount;
+    private MessageHeader lastMessage;
+}
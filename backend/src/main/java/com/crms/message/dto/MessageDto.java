@@ -0,0 +1,37 @@
+package com.crms.message.dto;
+
+import com.crms.user.dto.UserRef;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/** Read model for messages, fetched with a single JOIN query and without lazy proxies. */
+@Data
+@NoArgsConstructor
+public class MessageDto {
+    private Long id;
+    private UserRef sender;
+    private UserRef receiver;
+    private String subject;
+    private String content;
+    private Long fileId;
+    private LocalDateTime sentAt;
+    private Boolean isEncrypted;
+    private Boolean isRead;
+
+    // Flat constructor used by JPQL constructor expressions
+    public MessageDto(Long id, Long senderId, String senderName, Long receiverId, String receiverName,
+                      String subject, String content, Long fileId, LocalDateTime sentAt,
+                      Boolean isEncrypted, Boolean isRead) {
+        this.id = id;
+        this.sender = UserRef.of(senderId, senderName);
+        this.receiver = UserRef.of(receiverId, receiverName);
+        this.subject = subject;
+        this.content = content;
+        this.fileId = fileId;
+        this.sentAt = sentAt;
+        this.isEncrypted = isEncrypted;
+        this.isRead = isRead;
+    }
+}
@@ -0,0 +1,19 @@
+package com.crms.message.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/** Message metadata without the body, for inbox summaries. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MessageHeader {
+    private Long id;
+    private Long senderId;
+    private String subject;
+    private LocalDateTime sentAt;
+    private Boolean isRead;
+}
@@ -0,0 +1,268 @@
+package com.crms.search;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * Lifecycle shared by the on-disk search indexes. Every commit records the time it was
+ * taken, so after a crash or restart only rows changed since the last commit are re-read.
+ * A full rebuild re-reads everything into a new index generation, which replaces the live
+ * one only once it is committed; until then searches are served from the old index, and
+ * writes go to both.
+ */
+public abstract class AbstractSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(AbstractSearchIndex.class);
+
+    private static final String INDEXED_UNTIL = "indexedUntil";
+    private static final Duration CATCH_UP_OVERLAP = Duration.ofMinutes(1);
+
+    @Autowired
+    protected JdbcTemplate jdbcTemplate;
+
+    @Value("${crms.search.index-dir:data/search-index}")
+    private String indexDir;
+
+    protected final Analyzer analyzer = new StandardAnalyzer();
+
+    private final String name;
+    private final String directory;
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    // Readers use the indexes, the writer swaps them
+    private final ReadWriteLock swapLock = new ReentrantReadWriteLock();
+    private Path root;
+    private LuceneIndex index;
+    // Generation being rebuilt, null otherwise
+    private LuceneIndex rebuilt;
+
+    /**
+     * @param name      used in thread names and log messages, e.g. "report"
+     * @param directory directory under {@code crms.search.index-dir}
+     */
+    protected AbstractSearchIndex(String name, String directory) {
+        this.name = name;
+        this.directory = directory;
+    }
+
+    /** Indexes every row into {@code target}. */
+    protected abstract void loadAll(LuceneIndex target);
+
+    /** Re-indexes into {@code target} the rows changed since {@code since}. */
+    protected abstract void catchUp(LuceneIndex target, LocalDateTime since);
+
+    @PostConstruct
+    public void open() {
+        root = Path.of(indexDir, directory);
+        index = LuceneIndex.openLatest(root, analyzer, INDEXED_UNTIL);
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        swapLock.writeLock().lock();
+        try {
+            commitLive(index, LocalDateTime.now());
+            index.close();
+            // An unfinished generation is discarded when the index is next opened
+            if (rebuilt != null) {
+                rebuilt.close();
+            }
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        String indexedUntil = index.getCommitData().get(INDEXED_UNTIL);
+        if (index.isEmpty() || indexedUntil == null) {
+            startRebuild();
+        } else {
+            catchUp(index, LocalDateTime.parse(indexedUntil).minus(CATCH_UP_OVERLAP));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${crms.search.refresh-interval-ms:1000}")
+    public void refresh() {
+        withIndex(LuceneIndex::refresh);
+    }
+
+    @Scheduled(fixedDelayString = "${crms.search.commit-interval-ms:30000}")
+    public void scheduledCommit() {
+        LocalDateTime now = LocalDateTime.now();
+        withIndex(live -> commitLive(live, now));
+    }
+
+    /** Starts a full rebuild in the background; false if one is already running. */
+    public boolean startRebuild() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            return false;
+        }
+        Thread thread = new Thread(this::runRebuild, name + "-index-rebuild");
+        thread.setDaemon(true);
+        thread.start();
+        return true;
+    }
+
+    /** Rebuilds on the calling thread; false if a rebuild is already running. */
+    public boolean rebuild() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            return false;
+        }
+        runRebuild();
+        return true;
+    }
+
+    public boolean isRebuilding() {
+        return rebuilding.get();
+    }
+
+    /** Runs {@code function} against the live index. */
+    protected <T> T search(LuceneIndex.SearchFunction<T> function) {
+        swapLock.readLock().lock();
+        try {
+            return index.search(function);
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    /** Applies a write to the live index and to the generation being rebuilt. */
+    protected void write(Consumer<LuceneIndex> action) {
+        swapLock.readLock().lock();
+        try {
+            action.accept(index);
+            if (rebuilt != null) {
+                action.accept(rebuilt);
+            }
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    /** Streams the rows of {@code sql}, bound to {@code since} when given; returns the row count. */
+    protected long stream(String sql, LocalDateTime since, RowIndexer indexer) {
+        long[] rows = new long[1];
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            if (since != null) {
+                statement.setTimestamp(1, Timestamp.valueOf(since));
+            }
+            // Integer.MIN_VALUE makes MySQL Connector/J stream rows instead of buffering the table
+            statement.setFetchSize(Integer.MIN_VALUE);
+            return statement;
+        }, rs -> {
+            indexer.index(rs);
+            rows[0]++;
+        });
+        return rows[0];
+    }
+
+    protected static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+
+    protected static long toMillis(LocalDateTime time) {
+        return time.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    private void runRebuild() {
+        LocalDateTime startedAt = LocalDateTime.now();
+        LuceneIndex fresh = null;
+        try {
+            fresh = LuceneIndex.createGeneration(root, analyzer);
+            swap(index, fresh);
+            loadAll(fresh);
+            // Writes racing with the scan may have been overwritten by older rows; re-read them
+            catchUp(fresh, startedAt.minus(CATCH_UP_OVERLAP));
+            commit(fresh, startedAt);
+            fresh.refresh();
+            LuceneIndex old = index;
+            swap(fresh, null);
+            old.destroy();
+            log.info("Rebuilt {} search index", name);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Failed to rebuild {} search index", name, e);
+            discard(fresh);
+        } finally {
+            rebuilding.set(false);
+        }
+    }
+
+    private void swap(LuceneIndex live, LuceneIndex generation) {
+        swapLock.writeLock().lock();
+        try {
+            index = live;
+            rebuilt = generation;
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+    }
+
+    private void discard(LuceneIndex generation) {
+        if (generation == null || generation == index) {
+            return;
+        }
+        swap(index, null);
+        try {
+            generation.destroy();
+        } catch (IOException | RuntimeException e) {
+            log.warn("Cannot remove abandoned {} search index", name, e);
+        }
+    }
+
+    private void withIndex(Consumer<LuceneIndex> action) {
+        swapLock.readLock().lock();
+        try {
+            action.accept(index);
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    // An index that was never completely built must not claim to be in step, or it would be kept
+    private static void commitLive(LuceneIndex live, LocalDateTime now) {
+        if (live.getCommitData().containsKey(INDEXED_UNTIL)) {
+            commit(live, now);
+        } else {
+            live.commit(Map.of());
+        }
+    }
+
+    private static void commit(LuceneIndex target, LocalDateTime indexedUntil) {
+        Map<String, String> data = new LinkedHashMap<>();
+        data.put(INDEXED_UNTIL, indexedUntil.toString());
+        target.commit(data);
+    }
+
+    @FunctionalInterface
+    protected interface RowIndexer {
+        void index(ResultSet rs) throws SQLException;
+    }
+}
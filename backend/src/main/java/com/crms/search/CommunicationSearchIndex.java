@@ -0,0 +1,288 @@
+package com.crms.search;
+
+import com.crms.case_management.Case;
+import com.crms.message.Message;
+import com.crms.message.crypto.MessageEncryptor;
+import com.crms.search.dto.CommunicationSearchHit;
+import com.crms.util.CursorPage;
+import com.crms.util.KeysetCursor;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.LongPoint;
+import org.apache.lucene.document.NumericDocValuesField;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexableField;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Full-text index over message subjects/content and case notes, stored on local disk.
+ * Hits are built from stored fields, then checked against the database so that a delete
+ * lost in a crash is never served. Message documents carry their sender and receiver as
+ * participants and are only returned to those two users; case notes are visible to
+ * everyone allowed to read cases. Kept in step by MessageService and CaseService;
+ * catch-up and rebuilds are handled by {@link AbstractSearchIndex}.
+ * <p>
+ * Message content is encrypted in the database but would be readable from the index files,
+ * so it is only indexed when {@code crms.search.index-message-content} is enabled; otherwise
+ * messages are found by subject alone.
+ */
+@Component
+public class CommunicationSearchIndex extends AbstractSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(CommunicationSearchIndex.class);
+
+    public static final String TYPE_MESSAGE = "message";
+    public static final String TYPE_CASE_NOTE = "case_note";
+
+    private static final String TYPE = "type";
+    private static final String ENTITY_ID = "entityId";
+    private static final String SUBJECT = "subject";
+    private static final String CONTENT = "content";
+    private static final String PARTICIPANT = "participant";
+    private static final String SENDER_ID = "senderId";
+    private static final String RECEIVER_ID = "receiverId";
+    private static final String TIMESTAMP = "timestamp";
+
+    private static final Map<String, Float> FIELD_BOOSTS = Map.of(SUBJECT, 2f, CONTENT, 1f);
+    private static final Sort RANKING =
+            new Sort(SortField.FIELD_SCORE, new SortField(TIMESTAMP, SortField.Type.LONG, true));
+    private static final String SELECT_MESSAGES =
+            "SELECT id, sender_id, receiver_id, subject, content, sent_at FROM messages";
+    private static final String SELECT_CASES =
+            "SELECT id, notes, updated_at FROM cases WHERE notes IS NOT NULL AND notes <> ''";
+
+    @Autowired
+    private MessageEncryptor messageEncryptor;
+
+    @Value("${crms.search.index-message-content:false}")
+    private boolean indexMessageContent;
+
+    public CommunicationSearchIndex() {
+        super("communication", "communications");
+    }
+
+    public void indexMessage(Message message) {
+        Long senderId = message.getSender() != null ? message.getSender().getId() : null;
+        Long receiverId = message.getReceiver() != null ? message.getReceiver().getId() : null;
+        String content = indexMessageContent ? message.getContent() : null;
+        write(target -> indexMessage(target, message.getId(), senderId, receiverId, message.getSubject(),
+                content, message.getSentAt()));
+    }
+
+    public void deleteMessage(Long messageId) {
+        write(target -> target.delete(documentId(TYPE_MESSAGE, messageId)));
+    }
+
+    public void indexCaseNotes(Case caseEntity) {
+        write(target -> indexCaseNotes(target, caseEntity.getId(), caseEntity.getNotes(),
+                caseEntity.getUpdatedAt()));
+    }
+
+    public void deleteCaseNotes(Long caseId) {
+        write(target -> target.delete(documentId(TYPE_CASE_NOTE, caseId)));
+    }
+
+    /**
+     * Ranked page of messages and case notes matching {@code text} that {@code userId} may
+     * see: messages they sent or received, plus case notes when {@code includeCaseNotes}.
+     * {@code type} optionally restricts the results to one kind of document.
+     */
+    public CursorPage<CommunicationSearchHit> search(String text, Long userId, boolean includeCaseNotes,
+                                                     String type, LocalDate from, LocalDate to,
+                                                     String cursor, int size) {
+        if (type != null && !TYPE_MESSAGE.equals(type) && !TYPE_CASE_NOTE.equals(type)) {
+            throw new IllegalArgumentException("Unknown type " + type);
+        }
+        int offset = SearchQueries.decodeOffset(cursor);
+        int pageSize = KeysetCursor.clampPageSize(size);
+        int window = Math.min(offset + pageSize + 1, SearchQueries.MAX_RESULT_WINDOW);
+
+        BooleanQuery.Builder visible = new BooleanQuery.Builder();
+        if (userId != null) {
+            visible.add(new TermQuery(new Term(PARTICIPANT, userId.toString())), BooleanClause.Occur.SHOULD);
+        }
+        if (includeCaseNotes) {
+            visible.add(new TermQuery(new Term(TYPE, TYPE_CASE_NOTE)), BooleanClause.Occur.SHOULD);
+        }
+        BooleanQuery.Builder query = new BooleanQuery.Builder()
+                .add(SearchQueries.parse(text, analyzer, FIELD_BOOSTS), BooleanClause.Occur.MUST)
+                // With no SHOULD clauses this matches nothing, which is the intended outcome
+                .add(visible.build(), BooleanClause.Occur.FILTER);
+        if (type != null) {
+            query.add(new TermQuery(new Term(TYPE, type)), BooleanClause.Occur.FILTER);
+        }
+        if (from != null || to != null) {
+            long lower = from != null ? toMillis(from.atStartOfDay()) : Long.MIN_VALUE;
+            long upper = to != null ? toMillis(to.plusDays(1).atStartOfDay()) - 1 : Long.MAX_VALUE;
+            query.add(LongPoint.newRangeQuery(TIMESTAMP, lower, upper), BooleanClause.Occur.FILTER);
+        }
+        Query built = query.build();
+
+        List<CommunicationSearchHit> hits = search(searcher -> {
+            TopDocs top = searcher.search(built, window, RANKING, true);
+            List<CommunicationSearchHit> page = new ArrayList<>();
+            for (int i = offset; i < top.scoreDocs.length; i++) {
+                ScoreDoc hit = top.scoreDocs[i];
+                page.add(toHit(searcher.storedFields().document(hit.doc), hit.score));
+            }
+            return page;
+        });
+
+        boolean hasMore = hits.size() > pageSize && offset + pageSize < SearchQueries.MAX_RESULT_WINDOW;
+        List<CommunicationSearchHit> items = withoutDeleted(hits.size() > pageSize ? hits.subList(0, pageSize) : hits);
+        return new CursorPage<>(items, hasMore ? SearchQueries.encodeOffset(offset + pageSize) : null, hasMore);
+    }
+
+    @Override
+    protected void loadAll(LuceneIndex target) {
+        long messages = loadMessages(target, SELECT_MESSAGES, null);
+        long cases = loadCases(target, SELECT_CASES, null);
+        log.info("Indexed {} messages and {} case notes", messages, cases);
+    }
+
+    @Override
+    protected void catchUp(LuceneIndex target, LocalDateTime since) {
+        long messages = loadMessages(target, SELECT_MESSAGES + " WHERE sent_at >= ?", since);
+        long cases = loadCases(target, SELECT_CASES + " AND updated_at >= ?", since);
+        if (messages + cases > 0) {
+            log.info("Re-indexed {} messages and {} case notes changed since {}", messages, cases, since);
+        }
+    }
+
+    private long loadMessages(LuceneIndex target, String sql, LocalDateTime since) {
+        return stream(sql, since, rs -> {
+            long senderId = rs.getLong("sender_id");
+            long receiverId = rs.getLong("receiver_id");
+            String content = indexMessageContent
+                    ? messageEncryptor.decrypt(Message.conversationKey(senderId, receiverId), rs.getString("content"))
+                    : null;
+            indexMessage(target, rs.getLong("id"), senderId, receiverId, rs.getString("subject"), content,
+                    toLocalDateTime(rs.getTimestamp("sent_at")));
+        });
+    }
+
+    private long loadCases(LuceneIndex target, String sql, LocalDateTime since) {
+        return stream(sql, since, rs -> indexCaseNotes(target, rs.getLong("id"), rs.getString("notes"),
+                toLocalDateTime(rs.getTimestamp("updated_at"))));
+    }
+
+    /**
+     * The hits whose message, or case with notes, still exists. Stored fields outlive a delete
+     * that was lost in a crash, and catch-up only re-reads rows that are still there.
+     */
+    private List<CommunicationSearchHit> withoutDeleted(List<CommunicationSearchHit> hits) {
+        List<Long> messageIds = new ArrayList<>();
+        List<Long> caseIds = new ArrayList<>();
+        for (CommunicationSearchHit hit : hits) {
+            (TYPE_MESSAGE.equals(hit.getType()) ? messageIds : caseIds).add(hit.getId());
+        }
+        Set<Long> messages = existingIds("SELECT id FROM messages WHERE id IN ", messageIds);
+        Set<Long> cases = existingIds(
+                "SELECT id FROM cases WHERE notes IS NOT NULL AND notes <> '' AND id IN ", caseIds);
+        List<CommunicationSearchHit> existing = new ArrayList<>(hits.size());
+        for (CommunicationSearchHit hit : hits) {
+            if ((TYPE_MESSAGE.equals(hit.getType()) ? messages : cases).contains(hit.getId())) {
+                existing.add(hit);
+            }
+        }
+        return existing;
+    }
+
+    private Set<Long> existingIds(String sql, List<Long> ids) {
+        if (ids.isEmpty()) {
+            return Set.of();
+        }
+        String placeholders = String.join(", ", Collections.nCopies(ids.size(), "?"));
+        return new HashSet<>(jdbcTemplate.queryForList(sql + "(" + placeholders + ")", Long.class, ids.toArray()));
+    }
+
+    private static void indexMessage(LuceneIndex target, Long id, Long senderId, Long receiverId, String subject,
+                                     String content, LocalDateTime sentAt) {
+        Document document = newDocument(TYPE_MESSAGE, id, sentAt);
+        if (subject != null) {
+            document.add(new TextField(SUBJECT, subject, Field.Store.YES));
+        }
+        if (content != null) {
+            document.add(new TextField(CONTENT, content, Field.Store.NO));
+        }
+        if (senderId != null) {
+            document.add(new StringField(PARTICIPANT, senderId.toString(), Field.Store.NO));
+            document.add(new StoredField(SENDER_ID, senderId));
+        }
+        if (receiverId != null) {
+            document.add(new StringField(PARTICIPANT, receiverId.toString(), Field.Store.NO));
+            document.add(new StoredField(RECEIVER_ID, receiverId));
+        }
+        target.update(documentId(TYPE_MESSAGE, id), document);
+    }
+
+    private static void indexCaseNotes(LuceneIndex target, Long caseId, String notes, LocalDateTime updatedAt) {
+        if (notes == null || notes.isBlank()) {
+            target.delete(documentId(TYPE_CASE_NOTE, caseId));
+            return;
+        }
+        Document document = newDocument(TYPE_CASE_NOTE, caseId, updatedAt);
+        document.add(new TextField(CONTENT, notes, Field.Store.NO));
+        target.update(documentId(TYPE_CASE_NOTE, caseId), document);
+    }
+
+    private static Document newDocument(String type, Long id, LocalDateTime timestamp) {
+        Document document = new Document();
+        document.add(new StringField(LuceneIndex.ID_FIELD, documentId(type, id), Field.Store.NO));
+        document.add(new StringField(TYPE, type, Field.Store.YES));
+        document.add(new StoredField(ENTITY_ID, id));
+        long millis = timestamp != null ? toMillis(timestamp) : 0;
+        document.add(new LongPoint(TIMESTAMP, millis));
+        document.add(new NumericDocValuesField(TIMESTAMP, millis));
+        document.add(new StoredField(TIMESTAMP, millis));
+        return document;
+    }
+
+    private static CommunicationSearchHit toHit(Document document, float score) {
+        return CommunicationSearchHit.builder()
+                .type(document.get(TYPE))
+                .id(storedLong(document, ENTITY_ID))
+                .subject(document.get(SUBJECT))
+                .senderId(storedLong(document, SENDER_ID))
+                .receiverId(storedLong(document, RECEIVER_ID))
+                .timestamp(LocalDateTime.ofInstant(Instant.ofEpochMilli(storedLong(document, TIMESTAMP)),
+                        ZoneOffset.UTC))
+                .score(score)
+                .build();
+    }
+
+    private static Long storedLong(Document document, String field) {
+        IndexableField value = document.getField(field);
+        return value != null ? value.numericValue().longValue() : null;
+    }
+
+    private static String documentId(String type, Long id) {
+        return type + ":" + id;
+    }
+}
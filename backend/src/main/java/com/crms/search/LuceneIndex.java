@@ -0,0 +1,212 @@
+package com.crms.search;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.SegmentInfos;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * One on-disk Lucene index with a single long-lived writer and a near-real-time searcher.
+ * Writes become searchable at the next {@link #refresh()} and durable at the next
+ * {@link #commit}; the commit user data lets the owner record how far the index is
+ * known to be in step with the database.
+ * <p>
+ * An owner that rebuilds its index from scratch keeps numbered generations under one root
+ * directory: the rebuild writes a new generation while the current one keeps serving, and
+ * {@link #openLatest} picks the newest completed generation on startup.
+ */
+public class LuceneIndex implements Closeable {
+
+    public static final String ID_FIELD = "id";
+
+    private final Path path;
+    private final Directory directory;
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+
+    public LuceneIndex(Path path, Analyzer analyzer) {
+        this.path = path;
+        try {
+            Files.createDirectories(path);
+            directory = FSDirectory.open(path);
+            IndexWriterConfig config = new IndexWriterConfig(analyzer)
+                    .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND)
+                    .setRAMBufferSizeMB(64);
+            writer = new IndexWriter(directory, config);
+            searcherManager = new SearcherManager(writer, null);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open search index at " + path, e);
+        }
+    }
+
+    /**
+     * Opens the newest generation under {@code root} whose last commit carries {@code marker}
+     * and removes everything else under {@code root}: unfinished rebuilds and generations that
+     * a finished one replaced. Creates an empty generation if there is no completed one.
+     */
+    public static LuceneIndex openLatest(Path root, Analyzer analyzer, String marker) {
+        Path latest = null;
+        for (Path entry : list(root)) {
+            if (generation(entry) > (latest != null ? generation(latest) : -1)
+                    && readCommitData(entry).containsKey(marker)) {
+                latest = entry;
+            }
+        }
+        for (Path entry : list(root)) {
+            if (!entry.equals(latest)) {
+                deleteRecursively(entry);
+            }
+        }
+        return latest != null ? new LuceneIndex(latest, analyzer) : createGeneration(root, analyzer);
+    }
+
+    /** Opens a new, empty generation under {@code root}, numbered after all existing ones. */
+    public static LuceneIndex createGeneration(Path root, Analyzer analyzer) {
+        long next = 1;
+        for (Path entry : list(root)) {
+            next = Math.max(next, generation(entry) + 1);
+        }
+        return new LuceneIndex(root.resolve(Long.toString(next)), analyzer);
+    }
+
+    /** Adds the document, replacing any document with the same id. */
+    public void update(String id, Document document) {
+        try {
+            writer.updateDocument(new Term(ID_FIELD, id), document);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void delete(String id) {
+        try {
+            writer.deleteDocuments(new Term(ID_FIELD, id));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public boolean isEmpty() {
+        return writer.getDocStats().numDocs == 0;
+    }
+
+    /** Makes writes since the last refresh visible to searches. */
+    public void refresh() {
+        try {
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** Flushes all writes to disk together with {@code commitData}. */
+    public void commit(Map<String, String> commitData) {
+        try {
+            writer.setLiveCommitData(commitData.entrySet());
+            writer.commit();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** User data of the last commit, empty for a new index. */
+    public Map<String, String> getCommitData() {
+        Map<String, String> data = new HashMap<>();
+        Iterable<Map.Entry<String, String>> live = writer.getLiveCommitData();
+        if (live != null) {
+            live.forEach(entry -> data.put(entry.getKey(), entry.getValue()));
+        }
+        return data;
+    }
+
+    public <T> T search(SearchFunction<T> function) {
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                return function.apply(searcher);
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        searcherManager.close();
+        writer.close();
+        directory.close();
+    }
+
+    /** Closes the index and deletes its files. */
+    public void destroy() throws IOException {
+        close();
+        deleteRecursively(path);
+    }
+
+    private static Map<String, String> readCommitData(Path path) {
+        if (!Files.isDirectory(path)) {
+            return Map.of();
+        }
+        try (Directory directory = FSDirectory.open(path)) {
+            return DirectoryReader.indexExists(directory)
+                    ? SegmentInfos.readLatestCommit(directory).getUserData() : Map.of();
+        } catch (IOException e) {
+            // A generation that cannot be read is treated as unfinished
+            return Map.of();
+        }
+    }
+
+    private static long generation(Path path) {
+        try {
+            return Files.isDirectory(path) ? Long.parseLong(path.getFileName().toString()) : -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static List<Path> list(Path root) {
+        try {
+            Files.createDirectories(root);
+            try (Stream<Path> entries = Files.list(root)) {
+                return entries.toList();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot list search indexes in " + root, e);
+        }
+    }
+
+    private static void deleteRecursively(Path path) {
+        try (Stream<Path> entries = Files.walk(path)) {
+            for (Path entry : entries.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(entry);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot delete " + path, e);
+        }
+    }
+
+    @FunctionalInterface
+    public interface SearchFunction<T> {
+        T apply(IndexSearcher searcher) throws IOException;
+    }
+}
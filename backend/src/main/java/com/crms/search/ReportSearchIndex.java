@@ -0,0 +1,174 @@
+package com.crms.search;
+
+import com.crms.crime.CrimeReport;
+import com.crms.crime.CrimeReportRepository;
+import com.crms.crime.dto.CrimeReportDto;
+import com.crms.search.dto.ReportSearchHit;
+import com.crms.util.CursorPage;
+import com.crms.util.KeysetCursor;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.LongPoint;
+import org.apache.lucene.document.NumericDocValuesField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Full-text index over crime report titles and descriptions, stored on local disk.
+ * CrimeReportService keeps it in step on every create/update/delete; catch-up after a
+ * restart and full rebuilds are handled by {@link AbstractSearchIndex}.
+ */
+@Component
+public class ReportSearchIndex extends AbstractSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(ReportSearchIndex.class);
+
+    private static final String TITLE = "title";
+    private static final String DESCRIPTION = "description";
+    private static final String STATUS = "status";
+    private static final String CATEGORY_ID = "categoryId";
+    private static final String CREATED_AT = "createdAt";
+
+    private static final Map<String, Float> FIELD_BOOSTS = Map.of(TITLE, 2f, DESCRIPTION, 1f);
+    private static final Sort RANKING =
+            new Sort(SortField.FIELD_SCORE, new SortField(CREATED_AT, SortField.Type.LONG, true));
+    private static final String SELECT_REPORTS =
+            "SELECT id, title, description, status, category_id, created_at FROM crime_reports";
+
+    @Autowired
+    private CrimeReportRepository crimeReportRepository;
+
+    public ReportSearchIndex() {
+        super("report", "reports");
+    }
+
+    public void index(CrimeReport report) {
+        Document document = toDocument(report.getId(), report.getTitle(), report.getDescription(),
+                report.getStatus(), report.getCategory() != null ? report.getCategory().getId() : null,
+                report.getCreatedAt());
+        write(target -> target.update(report.getId().toString(), document));
+    }
+
+    public void delete(Long reportId) {
+        write(target -> target.delete(reportId.toString()));
+    }
+
+    /**
+     * Ranked page of reports matching {@code text}, best match first (newest first among
+     * equal scores), with optional status, category and created-date filters.
+     */
+    public CursorPage<ReportSearchHit> search(String text, String status, Long categoryId, LocalDate from,
+                                              LocalDate to, String cursor, int size) {
+        int offset = SearchQueries.decodeOffset(cursor);
+        int pageSize = KeysetCursor.clampPageSize(size);
+        int window = Math.min(offset + pageSize + 1, SearchQueries.MAX_RESULT_WINDOW);
+
+        BooleanQuery.Builder query = new BooleanQuery.Builder()
+                .add(SearchQueries.parse(text, analyzer, FIELD_BOOSTS), BooleanClause.Occur.MUST);
+        if (status != null) {
+            query.add(new TermQuery(new Term(STATUS, status)), BooleanClause.Occur.FILTER);
+        }
+        if (categoryId != null) {
+            query.add(LongPoint.newExactQuery(CATEGORY_ID, categoryId), BooleanClause.Occur.FILTER);
+        }
+        if (from != null || to != null) {
+            long lower = from != null ? toMillis(from.atStartOfDay()) : Long.MIN_VALUE;
+            long upper = to != null ? toMillis(to.plusDays(1).atStartOfDay()) - 1 : Long.MAX_VALUE;
+            query.add(LongPoint.newRangeQuery(CREATED_AT, lower, upper), BooleanClause.Occur.FILTER);
+        }
+        Query built = query.build();
+
+        List<Long> ids = new ArrayList<>();
+        List<Float> scores = new ArrayList<>();
+        search(searcher -> {
+            TopDocs top = searcher.search(built, window, RANKING, true);
+            for (int i = offset; i < top.scoreDocs.length; i++) {
+                ScoreDoc hit = top.scoreDocs[i];
+                ids.add(Long.valueOf(searcher.storedFields().document(hit.doc).get(LuceneIndex.ID_FIELD)));
+                scores.add(hit.score);
+            }
+            return null;
+        });
+
+        boolean hasMore = ids.size() > pageSize && offset + pageSize < SearchQueries.MAX_RESULT_WINDOW;
+        int count = Math.min(ids.size(), pageSize);
+        Map<Long, CrimeReportDto> reports = count == 0 ? Map.of()
+                : crimeReportRepository.findViewsByIds(ids.subList(0, count)).stream()
+                        .collect(Collectors.toMap(CrimeReportDto::getId, Function.identity()));
+        List<ReportSearchHit> hits = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            CrimeReportDto report = reports.get(ids.get(i));
+            // Deleted after the searcher was opened
+            if (report != null) {
+                hits.add(new ReportSearchHit(report, scores.get(i)));
+            }
+        }
+        return new CursorPage<>(hits, hasMore ? SearchQueries.encodeOffset(offset + pageSize) : null, hasMore);
+    }
+
+    @Override
+    protected void loadAll(LuceneIndex target) {
+        long rows = load(target, SELECT_REPORTS, null);
+        log.info("Indexed {} reports", rows);
+    }
+
+    @Override
+    protected void catchUp(LuceneIndex target, LocalDateTime since) {
+        long rows = load(target, SELECT_REPORTS + " WHERE updated_at >= ?", since);
+        if (rows > 0) {
+            log.info("Re-indexed {} reports updated since {}", rows, since);
+        }
+    }
+
+    private long load(LuceneIndex target, String sql, LocalDateTime since) {
+        return stream(sql, since, rs -> {
+            long id = rs.getLong("id");
+            target.update(Long.toString(id), toDocument(id, rs.getString("title"), rs.getString("description"),
+                    rs.getString("status"), rs.getLong("category_id"),
+                    toLocalDateTime(rs.getTimestamp("created_at"))));
+        });
+    }
+
+    private static Document toDocument(Long id, String title, String description, String status, Long categoryId,
+                                       LocalDateTime createdAt) {
+        Document document = new Document();
+        document.add(new StringField(LuceneIndex.ID_FIELD, id.toString(), Field.Store.YES));
+        if (title != null) {
+            document.add(new TextField(TITLE, title, Field.Store.NO));
+        }
+        if (description != null) {
+            document.add(new TextField(DESCRIPTION, description, Field.Store.NO));
+        }
+        if (status != null) {
+            document.add(new StringField(STATUS, status, Field.Store.NO));
+        }
+        if (categoryId != null) {
+            document.add(new LongPoint(CATEGORY_ID, categoryId));
+        }
+        long created = createdAt != null ? toMillis(createdAt) : 0;
+        document.add(new LongPoint(CREATED_AT, created));
+        document.add(new NumericDocValuesField(CREATED_AT, created));
+        return document;
+    }
+}
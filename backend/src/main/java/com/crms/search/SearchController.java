@@ -0,0 +1,87 @@
+package com.crms.search;
+
+import com.crms.search.dto.CommunicationSearchHit;
+import com.crms.search.dto.ReportSearchHit;
+import com.crms.util.CursorPage;
+import com.crms.util.KeysetCursor;
+import com.crms.util.SecurityUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/api/search")
+@CrossOrigin(origins = "*")
+public class SearchController {
+
+    @Autowired
+    private ReportSearchIndex reportSearchIndex;
+
+    @Autowired
+    private CommunicationSearchIndex communicationSearchIndex;
+
+    /**
+     * Ranked full-text search over report titles and descriptions. {@code q} supports
+     * "phrases", prefix* and fuzzy~ terms; pass {@code nextCursor} back for the next page.
+     */
+    @GetMapping("/reports")
+    @PreAuthorize("hasAnyRole('ADMIN', 'OFFICER', 'ANALYST')")
+    public ResponseEntity<CursorPage<ReportSearchHit>> searchReports(
+            @RequestParam String q,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + KeysetCursor.DEFAULT_PAGE_SIZE) int size) {
+        try {
+            return ResponseEntity.ok(reportSearchIndex.search(q, status, categoryId, from, to, cursor, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /** Re-reads every report into the index in the background. */
+    @PostMapping("/reports/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Void> rebuildReportIndex() {
+        return reportSearchIndex.startRebuild()
+                ? ResponseEntity.status(HttpStatus.ACCEPTED).build()
+                : ResponseEntity.status(HttpStatus.CONFLICT).build();
+    }
+
+    /**
+     * Ranked full-text search over message subjects/content and case notes. Only messages
+     * the caller sent or received are returned; {@code type} is "message" or "case_note".
+     */
+    @GetMapping("/communications")
+    @PreAuthorize("hasAnyRole('ADMIN', 'OFFICER', 'ANALYST')")
+    public ResponseEntity<CursorPage<CommunicationSearchHit>> searchCommunications(
+            @RequestParam String q,
+            @RequestParam(required = false) String type,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + KeysetCursor.DEFAULT_PAGE_SIZE) int size) {
+        try {
+            // Every role allowed here may read cases, so case notes are always included
+            return ResponseEntity.ok(communicationSearchIndex.search(q, SecurityUtils.currentUserId(), true,
+                    type, from, to, cursor, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @PostMapping("/communications/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Void> rebuildCommunicationIndex() {
+        return communicationSearchIndex.startRebuild()
+                ? ResponseEntity.status(HttpStatus.ACCEPTED).build()
+                : ResponseEntity.status(HttpStatus.CONFLICT).build();
+    }
+}
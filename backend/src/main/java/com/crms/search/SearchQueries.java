@@ -0,0 +1,62 @@
+package com.crms.search;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.queryparser.classic.MultiFieldQueryParser;
+import org.apache.lucene.queryparser.classic.ParseException;
+import org.apache.lucene.queryparser.classic.QueryParser;
+import org.apache.lucene.search.Query;
+
+import java.util.Map;
+
+/**
+ * Query-string parsing and offset cursors shared by the search indexes. Queries use the
+ * classic Lucene syntax: {@code "exact phrase"}, {@code prefix*}, {@code fuzzy~},
+ * {@code AND}/{@code OR}/{@code NOT}; bare terms must all match.
+ */
+public final class SearchQueries {
+
+    public static final int MAX_QUERY_LENGTH = 500;
+    // Deepest hit a page may reach; ranked search cannot skip ahead cheaply
+    public static final int MAX_RESULT_WINDOW = 10_000;
+
+    private SearchQueries() {
+    }
+
+    public static Query parse(String text, Analyzer analyzer, Map<String, Float> fieldBoosts) {
+        if (text == null || text.isBlank()) {
+            throw new IllegalArgumentException("Query must not be empty");
+        }
+        if (text.length() > MAX_QUERY_LENGTH) {
+            throw new IllegalArgumentException("Query must be at most " + MAX_QUERY_LENGTH + " characters");
+        }
+        MultiFieldQueryParser parser = new MultiFieldQueryParser(
+                fieldBoosts.keySet().toArray(new String[0]), analyzer, fieldBoosts);
+        parser.setDefaultOperator(QueryParser.Operator.AND);
+        parser.setAllowLeadingWildcard(false);
+        try {
+            return parser.parse(text);
+        } catch (ParseException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid query: " + e.getMessage());
+        }
+    }
+
+    /** Offset named by a cursor from a previous page; null starts at the first hit. */
+    public static int decodeOffset(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return 0;
+        }
+        try {
+            int offset = Integer.parseInt(cursor);
+            if (offset < 0 || offset >= MAX_RESULT_WINDOW) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return offset;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    public static String encodeOffset(int offset) {
+        return Integer.toString(offset);
+    }
+}
@@ -0,0 +1,26 @@
+package com.crms.search.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A matching message or case note, built from the index's stored fields. {@code id} is
+ * the message id for messages and the case id for case notes.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CommunicationSearchHit {
+    private String type;
+    private Long id;
+    private String subject;
+    private Long senderId;
+    private Long receiverId;
+    private LocalDateTime timestamp;
+    private float score;
+}
@@ -0,0 +1,14 @@
+package com.crms.search.dto;
+
+import com.crms.crime.dto.CrimeReportDto;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportSearchHit {
+    private CrimeReportDto report;
+    private float score;
+}
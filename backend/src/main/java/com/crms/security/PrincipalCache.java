@@ -0,0 +1,84 @@
+package com.crms.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserCache;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bounded, time-evicted cache of authenticated principals so that JWT-authenticated
+ * requests do not hit the database for every call. Entries expire after the configured
+ * TTL and are invalidated explicitly when a user's role or status changes.
+ */
+@Component
+public class PrincipalCache implements UserCache {
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final long ttlMillis;
+    private final int maxSize;
+
+    public PrincipalCache(@Value("${crms.security.principal-cache.ttl-seconds:300}") long ttlSeconds,
+                          @Value("${crms.security.principal-cache.max-size:10000}") int maxSize) {
+        this.ttlMillis = ttlSeconds * 1000;
+        this.maxSize = maxSize;
+    }
+
+    @Override
+    public UserDetails getUserFromCache(String username) {
+        Entry entry = entries.get(username);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAt < System.currentTimeMillis()) {
+            entries.remove(username, entry);
+            return null;
+        }
+        return entry.user;
+    }
+
+    @Override
+    public void putUserInCache(UserDetails user) {
+        if (entries.size() >= maxSize) {
+            evict();
+        }
+        entries.put(user.getUsername(), new Entry(user, System.currentTimeMillis() + ttlMillis));
+    }
+
+    @Override
+    public void removeUserFromCache(String username) {
+        entries.remove(username);
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    /**
+     * Drops expired entries; if the cache is still full, drops an arbitrary tenth of it so
+     * that the next puts do not have to evict again.
+     */
+    private void evict() {
+        long now = System.currentTimeMillis();
+        entries.values().removeIf(entry -> entry.expiresAt < now);
+        int excess = entries.size() - maxSize + Math.max(1, maxSize / 10);
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (excess-- > 0 && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    private static final class Entry {
+        final UserDetails user;
+        final long expiresAt;
+
+        Entry(UserDetails user, long expiresAt) {
+            this.user = user;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
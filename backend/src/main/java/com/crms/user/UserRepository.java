@@ -1,18 +1,41 @@
 package com.crms.user;
 
+import com.crms.user.dto.UserDto;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import com.crms.role.Role;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
+    String VIEW_SELECT = "SELECT new com.crms.user.dto.UserDto(u.id, u.username, u.fullName, u.email, u.phone, " +
+            "ro.id, ro.name, d.id, d.name, u.isActive, u.createdAt) " +
+            "FROM User u JOIN u.role ro LEFT JOIN u.department d ";
+
     Optional<User> findByUsername(String username);
     Optional<User> findByEmail(String email);
     boolean existsByUsername(String username);
     boolean existsByEmail(String email);
-    List<User> findByRole(Role role);
-    List<User> findByIsActiveTrue();
+
+    @Query(VIEW_SELECT + "ORDER BY u.id")
+    List<UserDto> findAllViews();
+
+    @Query(VIEW_SELECT + "WHERE u.id = :id")
+    Optional<UserDto> findViewById(@Param("id") Long id);
+
+    @Query(VIEW_SELECT + "WHERE ro.id = :roleId ORDER BY u.id")
+    List<UserDto> findViewsByRoleId(@Param("roleId") Long roleId);
+
+    @Query(VIEW_SELECT + "WHERE u.isActive = true ORDER BY u.id")
+    List<UserDto> findActiveViews();
+
+    @Query("SELECT u.id FROM User u WHERE u.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT u.id FROM User u WHERE u.department.id = :departmentId AND u.isActive = true ORDER BY u.id")
+    List<Long> findActiveIdsByDepartmentId(@Param("departmentId") Long departmentId);
 } 
\ No newline at end of file
@@ -1,7 +1,12 @@
 package com.crms.user;
 
+import com.crms.analytics.AnalyticsCounters;
+import com.crms.audit.AuditActions;
+import com.crms.audit.AuditService;
 import com.crms.role.Role;
 import com.crms.role.RoleRepository;
+import com.crms.security.PrincipalCache;
+import com.crms.user.dto.UserDto;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -21,25 +26,37 @@ public class UserService {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
-    public List<User> getAllUsers() {
-        return userRepository.findAll();
+    @Autowired
+    private AnalyticsCounters analyticsCounters;
+
+    @Autowired
+    private PrincipalCache principalCache;
+
+    @Autowired
+    private AuditService auditService;
+
+    public List<UserDto> getAllUsers() {
+        return userRepository.findAllViews();
     }
 
-    public Optional<User> getUserById(Long id) {
-        return userRepository.findById(id);
+    public Optional<UserDto> getUserById(Long id) {
+        return userRepository.findViewById(id);
     }
 
     public Optional<User> getUserByUsername(String username) {
         return userRepository.findByUsername(username);
     }
 
-    public User createUser(User user) {
+    public UserDto createUser(User user) {
         // Encode password
         user.setPassword(passwordEncoder.encode(user.getPassword()));
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        analyticsCounters.userCreated();
+        auditService.record(AuditActions.USER_CREATED, "User #" + savedUser.getId() + ": " + savedUser.getUsername());
+        return toView(savedUser);
     }
 
-    public User updateUser(Long id, User userDetails) {
+    public UserDto updateUser(Long id, User userDetails) {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
@@ -55,11 +72,19 @@ public class UserService {
             user.setPassword(passwordEncoder.encode(userDetails.getPassword()));
         }
 
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        principalCache.removeUserFromCache(savedUser.getUsername());
+        auditService.record(AuditActions.USER_UPDATED, "User #" + id + ": " + savedUser.getUsername());
+        return toView(savedUser);
     }
 
     public void deleteUser(Long id) {
-        userRepository.deleteById(id);
+        userRepository.findById(id).ifPresent(user -> {
+            userRepository.delete(user);
+            principalCache.removeUserFromCache(user.getUsername());
+            analyticsCounters.userDeleted();
+            auditService.record(AuditActions.USER_DELETED, "User #" + id + ": " + user.getUsername());
+        });
     }
 
     public boolean existsByUsername(String username) {
@@ -70,13 +95,18 @@ public class UserService {
         return userRepository.existsByEmail(email);
     }
 
-    public List<User> getUsersByRole(String roleName) {
+    public List<UserDto> getUsersByRole(String roleName) {
         Role role = roleRepository.findByName(roleName)
                 .orElseThrow(() -> new RuntimeException("Role not found"));
-        return userRepository.findByRole(role);
+        return userRepository.findViewsByRoleId(role.getId());
+    }
+
+    public List<UserDto> getActiveUsers() {
+        return userRepository.findActiveViews();
     }
 
-    public List<User> getActiveUsers() {
-        return userRepository.findByIsActiveTrue();
+    private UserDto toView(User user) {
+        return userRepository.findViewById(user.getId())
+                .orElseThrow(() -> new RuntimeException("User not found"));
     }
 } 
\ No newline at end of file
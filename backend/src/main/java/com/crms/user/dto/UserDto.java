@@ -0,0 +1,37 @@
+package com.crms.user.dto;
+
+import com.crms.util.NamedRef;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/** Read model for users; never carries the password hash. */
+@Data
+@NoArgsConstructor
+public class UserDto {
+    private Long id;
+    private String username;
+    private String fullName;
+    private String email;
+    private String phone;
+    private NamedRef role;
+    private NamedRef department;
+    private Boolean isActive;
+    private LocalDateTime createdAt;
+
+    // Flat constructor used by JPQL constructor expressions
+    public UserDto(Long id, String username, String fullName, String email, String phone,
+                   Long roleId, String roleName, Long departmentId, String departmentName,
+                   Boolean isActive, LocalDateTime createdAt) {
+        this.id = id;
+        this.username = username;
+        this.fullName = fullName;
+        this.email = email;
+        this.phone = phone;
+        this.role = NamedRef.of(roleId, roleName);
+        this.department = NamedRef.of(departmentId, departmentName);
+        this.isActive = isActive;
+        this.createdAt = createdAt;
+    }
+}
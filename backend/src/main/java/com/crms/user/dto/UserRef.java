@@ -0,0 +1,17 @@
+package com.crms.user.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserRef {
+    private Long id;
+    private String fullName;
+
+    public static UserRef of(Long id, String fullName) {
+        return id != null ? new UserRef(id, fullName) : null;
+    }
+}
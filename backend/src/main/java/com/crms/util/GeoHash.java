@@ -0,0 +1,156 @@
+package com.crms.util;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Geohash encoding: the longitude/latitude ranges are halved alternately and the choices
+ * interleaved into bits, so nearby points share a common prefix. A prefix therefore
+ * names a rectangular cell, and "points in cell X" becomes an indexable prefix scan.
+ */
+public final class GeoHash {
+
+    public static final int MAX_PRECISION = 12;
+
+    private static final String BASE32 = "0123456789bcdefghjkmnpqrstuvwxyz";
+    private static final double EARTH_RADIUS_KM = 6371.0088;
+    private static final double KM_PER_DEGREE_LATITUDE = 111.32;
+
+    private GeoHash() {
+    }
+
+    /** The first {@code bits} interleaved bits of the geohash, most significant first. */
+    public static long encodeBits(double latitude, double longitude, int bits) {
+        double minLat = -90, maxLat = 90, minLon = -180, maxLon = 180;
+        long hash = 0;
+        for (int i = 0; i < bits; i++) {
+            hash <<= 1;
+            if (i % 2 == 0) {
+                double mid = (minLon + maxLon) / 2;
+                if (longitude >= mid) {
+                    hash |= 1;
+                    minLon = mid;
+                } else {
+                    maxLon = mid;
+                }
+            } else {
+                double mid = (minLat + maxLat) / 2;
+                if (latitude >= mid) {
+                    hash |= 1;
+                    minLat = mid;
+                } else {
+                    maxLat = mid;
+                }
+            }
+        }
+        return hash;
+    }
+
+    public static String encode(double latitude, double longitude, int precision) {
+        if (precision < 1 || precision > MAX_PRECISION) {
+            throw new IllegalArgumentException("Precision must be between 1 and " + MAX_PRECISION);
+        }
+        return fromBits(encodeBits(latitude, longitude, precision * 5), precision);
+    }
+
+    /** Base32 form of the top {@code precision * 5} bits produced by {@link #encodeBits}. */
+    public static String fromBits(long bits, int precision) {
+        char[] chars = new char[precision];
+        for (int i = precision - 1; i >= 0; i--) {
+            chars[i] = BASE32.charAt((int) (bits & 31));
+            bits >>>= 5;
+        }
+        return new String(chars);
+    }
+
+    /** Inverse of {@link #fromBits}: the {@code geohash.length() * 5} bits named by a base32 geohash. */
+    public static long decodeBits(String geohash) {
+        if (geohash.isEmpty() || geohash.length() > MAX_PRECISION) {
+            throw new IllegalArgumentException("Geohash length must be between 1 and " + MAX_PRECISION);
+        }
+        long bits = 0;
+        for (int i = 0; i < geohash.length(); i++) {
+            int value = BASE32.indexOf(geohash.charAt(i));
+            if (value < 0) {
+                throw new IllegalArgumentException("Invalid geohash character '" + geohash.charAt(i) + "'");
+            }
+            bits = (bits << 5) | value;
+        }
+        return bits;
+    }
+
+    /** Centre {latitude, longitude} of the cell named by the first {@code bitCount} bits. */
+    public static double[] cellCentre(long bits, int bitCount) {
+        double minLat = -90, maxLat = 90, minLon = -180, maxLon = 180;
+        for (int i = 0; i < bitCount; i++) {
+            boolean set = ((bits >>> (bitCount - 1 - i)) & 1) == 1;
+            if (i % 2 == 0) {
+                double mid = (minLon + maxLon) / 2;
+                if (set) {
+                    minLon = mid;
+                } else {
+                    maxLon = mid;
+                }
+            } else {
+                double mid = (minLat + maxLat) / 2;
+                if (set) {
+                    minLat = mid;
+                } else {
+                    maxLat = mid;
+                }
+            }
+        }
+        return new double[]{(minLat + maxLat) / 2, (minLon + maxLon) / 2};
+    }
+
+    public static double cellWidthDegrees(int precision) {
+        return 360.0 / (1L << ((precision * 5 + 1) / 2));
+    }
+
+    public static double cellHeightDegrees(int precision) {
+        return 180.0 / (1L << (precision * 5 / 2));
+    }
+
+    /**
+     * At most four geohash prefixes whose cells together contain the bounding box: the
+     * finest precision whose cell is at least as large as the box, so the box can touch
+     * at most 2x2 cells. Returns an empty list when the box is too large to cover usefully.
+     */
+    public static List<String> coverBoundingBox(double minLat, double minLon, double maxLat, double maxLon,
+                                                int maxPrecision) {
+        for (int precision = maxPrecision; precision >= 1; precision--) {
+            if (cellWidthDegrees(precision) >= maxLon - minLon && cellHeightDegrees(precision) >= maxLat - minLat) {
+                Set<String> cells = new LinkedHashSet<>();
+                cells.add(encode(minLat, minLon, precision));
+                cells.add(encode(minLat, maxLon, precision));
+                cells.add(encode(maxLat, minLon, precision));
+                cells.add(encode(maxLat, maxLon, precision));
+                return new ArrayList<>(cells);
+            }
+        }
+        return List.of();
+    }
+
+    /** Great-circle distance in kilometres (haversine). */
+    public static double distanceKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    /** Degrees of latitude spanned by {@code km}. */
+    public static double latitudeDelta(double km) {
+        return km / KM_PER_DEGREE_LATITUDE;
+    }
+
+    /** Degrees of longitude spanned by {@code km} at the given latitude. */
+    public static double longitudeDelta(double km, double latitude) {
+        double cos = Math.cos(Math.toRadians(latitude));
+        return cos < 1e-6 ? 360 : km / (KM_PER_DEGREE_LATITUDE * cos);
+    }
+}
@@ -0,0 +1,83 @@
+package com.crms.util;
+
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Opaque position in a list ordered by (timestamp, id), used for keyset pagination.
+ * Clients only ever see the encoded form handed back as {@code nextCursor}.
+ */
+@Getter
+public final class KeysetCursor {
+
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 200;
+
+    private final LocalDateTime timestamp;
+    private final Long id;
+
+    private KeysetCursor(LocalDateTime timestamp, Long id) {
+        this.timestamp = timestamp;
+        this.id = id;
+    }
+
+    public static String encode(LocalDateTime timestamp, Long id) {
+        String raw = timestamp + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** Decodes a client supplied cursor; {@code null} or blank means "first page". */
+    public static KeysetCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return new KeysetCursor(null, null);
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            return new KeysetCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    public static int clampPageSize(int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+        return Math.min(size, MAX_PAGE_SIZE);
+    }
+
+    /** Parses the {@code sort} request parameter: "newest" (default) or "oldest". */
+    public static boolean isOldestFirst(String sort) {
+        if (sort == null || sort.isBlank() || "newest".equalsIgnoreCase(sort)) {
+            return false;
+        }
+        if ("oldest".equalsIgnoreCase(sort)) {
+            return true;
+        }
+        throw new IllegalArgumentException("Unsupported sort: " + sort);
+    }
+
+    /**
+     * Builds a page from a result fetched with {@code pageSize + 1} rows; the extra row only
+     * signals that another page exists.
+     */
+    public static <T> CursorPage<T> toPage(List<T> rows, int pageSize,
+                                           Function<T, LocalDateTime> timestampOf, Function<T, Long> idOf) {
+        boolean hasMore = rows.size() > pageSize;
+        List<T> items = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = null;
+        if (hasMore) {
+            T last = items.get(items.size() - 1);
+            nextCursor = encode(timestampOf.apply(last), idOf.apply(last));
+        }
+        return new CursorPage<>(items, nextCursor, hasMore);
+    }
+}
@@ -0,0 +1,18 @@
+package com.crms.util;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** Compact {id, name} reference used by read DTOs in place of a nested entity. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NamedRef {
+    private Long id;
+    private String name;
+
+    public static NamedRef of(Long id, String name) {
+        return id != null ? new NamedRef(id, name) : null;
+    }
+}
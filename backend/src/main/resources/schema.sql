@@ -53,6 +53,7 @@ CREATE TABLE crime_reports (
     location VARCHAR(255),
     latitude DOUBLE,
     longitude DOUBLE,
+    geohash VARCHAR(12),
     reported_by BIGINT NOT NULL,
     status VARCHAR(50) DEFAULT 'Open',
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
@@ -61,6 +62,11 @@ CREATE TABLE crime_reports (
     FOREIGN KEY (reported_by) REFERENCES users(id)
 );
 
+-- ID BLOCKS FOR CRIME REPORTS (Hibernate pooled sequence; MySQL has no native sequences)
+CREATE TABLE crime_reports_seq (
+    next_val BIGINT NOT NULL
+);
+
 -- CASES
 CREATE TABLE cases (
     id BIGINT PRIMARY KEY AUTO_INCREMENT,
@@ -70,6 +76,7 @@ CREATE TABLE cases (
     opened_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     closed_at TIMESTAMP,
     notes TEXT,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
     FOREIGN KEY (crime_report_id) REFERENCES crime_reports(id),
     FOREIGN KEY (assigned_to) REFERENCES users(id)
 );
@@ -101,6 +108,7 @@ CREATE TABLE messages (
     id BIGINT PRIMARY KEY AUTO_INCREMENT,
     sender_id BIGINT NOT NULL,
     receiver_id BIGINT NOT NULL,
+    conversation_key VARCHAR(41),
     subject VARCHAR(255),
     content TEXT,
     file_id BIGINT,
@@ -112,18 +120,98 @@ CREATE TABLE messages (
     FOREIGN KEY (file_id) REFERENCES files(id)
 );
 
--- AUDIT LOGS
+-- ID BLOCKS FOR MESSAGES (Hibernate pooled sequence)
+CREATE TABLE messages_seq (
+    next_val BIGINT NOT NULL
+);
+
+-- CONVERSATION KEYS (per-conversation AES data keys wrapped with the master key; see MessageEncryptor)
+CREATE TABLE conversation_keys (
+    conversation_key VARCHAR(41) PRIMARY KEY,
+    wrapped_key VARBINARY(60) NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+-- AUDIT LOGS (append-only, partitioned by month; AuditPartitionManager adds and archives partitions)
+-- Partitioned tables cannot have foreign keys, and the partition column must be part of the primary key
 CREATE TABLE audit_logs (
-    id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    id BIGINT NOT NULL AUTO_INCREMENT,
     user_id BIGINT,
     action VARCHAR(255) NOT NULL,
     details TEXT,
-    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-    FOREIGN KEY (user_id) REFERENCES users(id)
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (id, created_at),
+    KEY idx_audit_logs_user_created (user_id, created_at),
+    KEY idx_audit_logs_action_created (action, created_at)
+)
+PARTITION BY RANGE (UNIX_TIMESTAMP(created_at)) (
+    PARTITION p_future VALUES LESS THAN MAXVALUE
+);
+
+-- DAILY ANALYTICS ROLLUPS (maintained by AnalyticsRollupService)
+CREATE TABLE crime_report_daily_rollups (
+    id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    rollup_date DATE NOT NULL,
+    category_id BIGINT NOT NULL,
+    status VARCHAR(50) NOT NULL,
+    department_id BIGINT,
+    report_count BIGINT NOT NULL
+);
+
+CREATE TABLE case_daily_rollups (
+    id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    rollup_date DATE NOT NULL,
+    category_id BIGINT NOT NULL,
+    status VARCHAR(50) NOT NULL,
+    department_id BIGINT,
+    case_count BIGINT NOT NULL,
+    resolved_count BIGINT NOT NULL,
+    resolution_days_total BIGINT NOT NULL
+);
+
+CREATE TABLE analytics_watermarks (
+    name VARCHAR(100) PRIMARY KEY,
+    processed_until TIMESTAMP NULL
 );
 
+-- CRIME HOTSPOTS (maintained by HotspotDetectionService)
+CREATE TABLE crime_hotspots (
+    id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    category_id BIGINT NOT NULL,
+    partition_cell VARCHAR(12) NOT NULL,
+    latitude DOUBLE NOT NULL,
+    longitude DOUBLE NOT NULL,
+    radius_km DOUBLE NOT NULL,
+    report_count INT NOT NULL,
+    first_report_at TIMESTAMP NOT NULL,
+    last_report_at TIMESTAMP NOT NULL,
+    detected_at TIMESTAMP NOT NULL
+);
+
+-- INDEXES
+CREATE INDEX idx_crime_reports_status ON crime_reports(status, created_at);
+CREATE INDEX idx_crime_reports_category_created ON crime_reports(category_id, created_at);
+CREATE INDEX idx_crime_reports_reported_by ON crime_reports(reported_by, created_at);
+CREATE INDEX idx_crime_reports_created_at ON crime_reports(created_at);
+CREATE INDEX idx_crime_reports_updated_at ON crime_reports(updated_at);
+CREATE INDEX idx_crime_reports_geohash ON crime_reports(geohash);
+CREATE INDEX idx_cases_status_opened ON cases(status, opened_at);
+CREATE INDEX idx_cases_assigned_status ON cases(assigned_to, status);
+CREATE INDEX idx_cases_opened_at ON cases(opened_at);
+CREATE INDEX idx_cases_updated_at ON cases(updated_at);
+CREATE INDEX idx_crime_report_rollups_date ON crime_report_daily_rollups(rollup_date, category_id);
+CREATE INDEX idx_case_rollups_date ON case_daily_rollups(rollup_date, category_id);
+CREATE INDEX idx_crime_hotspots_partition ON crime_hotspots(category_id, partition_cell);
+CREATE INDEX idx_crime_hotspots_last_report ON crime_hotspots(last_report_at);
+CREATE INDEX idx_messages_receiver_read_sent ON messages(receiver_id, is_read, sent_at);
+CREATE INDEX idx_messages_conversation_sent ON messages(conversation_key, sent_at, id);
+
 -- INSERT INITIAL DATA
 
+-- Seed the pooled id sequences past any existing ids (+ one allocation block of 50)
+INSERT INTO crime_reports_seq (next_val) SELECT COALESCE(MAX(id), 0) + 51 FROM crime_reports;
+INSERT INTO messages_seq (next_val) SELECT COALESCE(MAX(id), 0) + 51 FROM messages;
+
 -- Insert Roles
 INSERT INTO roles (name, description) VALUES
 ('ADMIN', 'System Administrator with full access'),
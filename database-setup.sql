@@ -7,11 +7,18 @@ CREATE DATABASE IF NOT EXISTS crms_db;
 USE crms_db;
 
 -- Drop existing tables if they exist (for clean setup)
+DROP TABLE IF EXISTS crime_hotspots;
+DROP TABLE IF EXISTS analytics_watermarks;
+DROP TABLE IF EXISTS case_daily_rollups;
+DROP TABLE IF EXISTS crime_report_daily_rollups;
 DROP TABLE IF EXISTS audit_logs;
 DROP TABLE IF EXISTS messages;
 DROP TABLE IF EXISTS files;
 DROP TABLE IF EXISTS case_assignments;
 DROP TABLE IF EXISTS cases;
+DROP TABLE IF EXISTS crime_reports_seq;
+DROP TABLE IF EXISTS messages_seq;
+DROP TABLE IF EXISTS conversation_keys;
 DROP TABLE IF EXISTS crime_reports;
 DROP TABLE IF EXISTS crime_categories;
 DROP TABLE IF EXISTS users;
@@ -74,6 +81,7 @@ CREATE TABLE crime_reports (
     location VARCHAR(255),
     latitude DOUBLE,
     longitude DOUBLE,
+    geohash VARCHAR(12),
     reported_by BIGINT NOT NULL,
     status VARCHAR(50) DEFAULT 'Open',
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
@@ -82,6 +90,11 @@ CREATE TABLE crime_reports (
     FOREIGN KEY (reported_by) REFERENCES users(id)
 );
 
+-- ID BLOCKS FOR CRIME REPORTS (Hibernate pooled sequence; MySQL has no native sequences)
+CREATE TABLE crime_reports_seq (
+    next_val BIGINT NOT NULL
+);
+
 -- CASES
 CREATE TABLE cases (
     id BIGINT PRIMARY KEY AUTO_INCREMENT,
@@ -91,6 +104,7 @@ CREATE TABLE cases (
     opened_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     closed_at TIMESTAMP,
     notes TEXT,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
     FOREIGN KEY (crime_report_id) REFERENCES crime_reports(id),
     FOREIGN KEY (assigned_to) REFERENCES users(id)
 );
@@ -122,6 +136,7 @@ CREATE TABLE messages (
     id BIGINT PRIMARY KEY AUTO_INCREMENT,
     sender_id BIGINT NOT NULL,
     receiver_id BIGINT NOT NULL,
+    conversation_key VARCHAR(41),
     subject VARCHAR(255),
     content TEXT,
     file_id BIGINT,
@@ -133,14 +148,72 @@ CREATE TABLE messages (
     FOREIGN KEY (file_id) REFERENCES files(id)
 );
 
--- AUDIT LOGS
+-- ID BLOCKS FOR MESSAGES (Hibernate pooled sequence)
+CREATE TABLE messages_seq (
+    next_val BIGINT NOT NULL
+);
+
+-- CONVERSATION KEYS (per-conversation AES data keys wrapped with the master key; see MessageEncryptor)
+CREATE TABLE conversation_keys (
+    conversation_key VARCHAR(41) PRIMARY KEY,
+    wrapped_key VARBINARY(60) NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+-- AUDIT LOGS (append-only, partitioned by month; AuditPartitionManager adds and archives partitions)
+-- Partitioned tables cannot have foreign keys, and the partition column must be part of the primary key
 CREATE TABLE audit_logs (
-    id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    id BIGINT NOT NULL AUTO_INCREMENT,
     user_id BIGINT,
     action VARCHAR(255) NOT NULL,
     details TEXT,
-    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-    FOREIGN KEY (user_id) REFERENCES users(id)
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (id, created_at),
+    KEY idx_audit_logs_user_created (user_id, created_at),
+    KEY idx_audit_logs_action_created (action, created_at)
+)
+PARTITION BY RANGE (UNIX_TIMESTAMP(created_at)) (
+    PARTITION p_future VALUES LESS THAN MAXVALUE
+);
+
+-- DAILY ANALYTICS ROLLUPS (maintained by AnalyticsRollupService)
+CREATE TABLE crime_report_daily_rollups (
+    id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    rollup_date DATE NOT NULL,
+    category_id BIGINT NOT NULL,
+    status VARCHAR(50) NOT NULL,
+    department_id BIGINT,
+    report_count BIGINT NOT NULL
+);
+
+CREATE TABLE case_daily_rollups (
+    id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    rollup_date DATE NOT NULL,
+    category_id BIGINT NOT NULL,
+    status VARCHAR(50) NOT NULL,
+    department_id BIGINT,
+    case_count BIGINT NOT NULL,
+    resolved_count BIGINT NOT NULL,
+    resolution_days_total BIGINT NOT NULL
+);
+
+CREATE TABLE analytics_watermarks (
+    name VARCHAR(100) PRIMARY KEY,
+    processed_until TIMESTAMP NULL
+);
+
+-- CRIME HOTSPOTS (maintained by HotspotDetectionService)
+CREATE TABLE crime_hotspots (
+    id BIGINT PRIMARY KEY AUTO_INCREMENT,
+    category_id BIGINT NOT NULL,
+    partition_cell VARCHAR(12) NOT NULL,
+    latitude DOUBLE NOT NULL,
+    longitude DOUBLE NOT NULL,
+    radius_km DOUBLE NOT NULL,
+    report_count INT NOT NULL,
+    first_report_at TIMESTAMP NOT NULL,
+    last_report_at TIMESTAMP NOT NULL,
+    detected_at TIMESTAMP NOT NULL
 );
 
 -- INSERT INITIAL DATA
@@ -204,6 +277,9 @@ INSERT INTO crime_reports (title, description, category_id, location, latitude,
 ('Homicide Case - Domestic Violence', 'Fatal domestic violence incident reported in residential area. Suspect in custody.', 6, 'Residential Area, Delhi', 28.7041, 77.1025, 2, 'Under Investigation'),
 ('Terrorism Threat - Bomb Hoax', 'Multiple bomb threats received at major railway stations. Security heightened.', 8, 'Multiple Railway Stations', 19.0760, 72.8777, 2, 'Open');
 
+-- Seed the report id sequence past the sample reports (+ one allocation block of 50)
+INSERT INTO crime_reports_seq (next_val) SELECT COALESCE(MAX(id), 0) + 51 FROM crime_reports;
+
 -- Insert Sample Cases
 INSERT INTO cases (crime_report_id, assigned_to, status, notes) VALUES
 (1, 2, 'Open', 'Initial investigation started. CCTV footage being analyzed.'),
@@ -219,6 +295,9 @@ INSERT INTO messages (sender_id, receiver_id, subject, content, is_read) VALUES
 (2, 4, 'Urgent - Cyber Fraud Investigation', 'We need immediate assistance with the cyber fraud case. Multiple victims involved.', FALSE),
 (4, 2, 'Re: Urgent - Cyber Fraud Investigation', 'I am working on the digital forensics. Will provide detailed report by tomorrow.', TRUE);
 
+UPDATE messages SET conversation_key = CONCAT(LEAST(sender_id, receiver_id), ':', GREATEST(sender_id, receiver_id));
+INSERT INTO messages_seq (next_val) SELECT COALESCE(MAX(id), 0) + 51 FROM messages;
+
 -- Insert Sample Audit Logs
 INSERT INTO audit_logs (user_id, action, details) VALUES
 (1, 'USER_LOGIN', 'Admin user logged in successfully'),
@@ -230,15 +309,24 @@ INSERT INTO audit_logs (user_id, action, details) VALUES
 -- Create Indexes for Better Performance
 CREATE INDEX idx_users_username ON users(username);
 CREATE INDEX idx_users_email ON users(email);
-CREATE INDEX idx_crime_reports_status ON crime_reports(status);
-CREATE INDEX idx_crime_reports_reported_by ON crime_reports(reported_by);
-CREATE INDEX idx_cases_assigned_to ON cases(assigned_to);
-CREATE INDEX idx_cases_status ON cases(status);
+CREATE INDEX idx_crime_reports_status ON crime_reports(status, created_at);
+CREATE INDEX idx_crime_reports_category_created ON crime_reports(category_id, created_at);
+CREATE INDEX idx_crime_reports_reported_by ON crime_reports(reported_by, created_at);
+CREATE INDEX idx_crime_reports_created_at ON crime_reports(created_at);
+CREATE INDEX idx_crime_reports_updated_at ON crime_reports(updated_at);
+CREATE INDEX idx_crime_reports_geohash ON crime_reports(geohash);
+CREATE INDEX idx_cases_assigned_status ON cases(assigned_to, status);
+CREATE INDEX idx_cases_status_opened ON cases(status, opened_at);
+CREATE INDEX idx_cases_opened_at ON cases(opened_at);
+CREATE INDEX idx_cases_updated_at ON cases(updated_at);
+CREATE INDEX idx_crime_report_rollups_date ON crime_report_daily_rollups(rollup_date, category_id);
+CREATE INDEX idx_case_rollups_date ON case_daily_rollups(rollup_date, category_id);
+CREATE INDEX idx_crime_hotspots_partition ON crime_hotspots(category_id, partition_cell);
+CREATE INDEX idx_crime_hotspots_last_report ON crime_hotspots(last_report_at);
 CREATE INDEX idx_messages_sender ON messages(sender_id);
-CREATE INDEX idx_messages_receiver ON messages(receiver_id);
+CREATE INDEX idx_messages_receiver_read_sent ON messages(receiver_id, is_read, sent_at);
+CREATE INDEX idx_messages_conversation_sent ON messages(conversation_key, sent_at, id);
 CREATE INDEX idx_messages_sent_at ON messages(sent_at);
-CREATE INDEX idx_audit_logs_user_id ON audit_logs(user_id);
-CREATE INDEX idx_audit_logs_created_at ON audit_logs(created_at);
 
 -- Display Setup Summary
 SELECT 'Database Setup Complete!' as status;
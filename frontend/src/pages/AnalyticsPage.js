@@ -296,13 +296,13 @@ const AnalyticsPage = () => {
             )}
 
             {/* Monthly Trends */}
-            {trends.monthlyTrends && (
+            {trends.timeline && (
                 <Paper sx={{ p: 3 }}>
                     <Typography variant="h6" gutterBottom>
                         Monthly Crime Trends (Last 6 Months)
                     </Typography>
                     <Grid container spacing={2}>
-                        {Object.entries(trends.monthlyTrends).map(([month, count]) => (
+                        {Object.entries(trends.timeline).map(([month, count]) => (
                             <Grid item xs={6} sm={4} md={2} key={month}>
                                 <Card>
                                     <CardContent sx={{ textAlign: 'center' }}>
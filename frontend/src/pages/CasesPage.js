@@ -31,7 +31,6 @@ import {
     Add as AddIcon,
     Edit as EditIcon,
     Delete as DeleteIcon,
-    Search as SearchIcon,
     Assignment as AssignmentIcon,
     CheckCircle as CheckCircleIcon
 } from '@mui/icons-material';
@@ -42,8 +41,11 @@ const CasesPage = () => {
     const [loading, setLoading] = useState(false);
     const [openDialog, setOpenDialog] = useState(false);
     const [editingCase, setEditingCase] = useState(null);
-    const [searchTerm, setSearchTerm] = useState('');
     const [statusFilter, setStatusFilter] = useState('all');
+    const [assignedToFilter, setAssignedToFilter] = useState('');
+    const [openedFrom, setOpenedFrom] = useState('');
+    const [openedTo, setOpenedTo] = useState('');
+    const [nextCursor, setNextCursor] = useState(null);
 
     const [formData, setFormData] = useState({
         crimeReportId: '',
@@ -52,15 +54,24 @@ const CasesPage = () => {
         notes: ''
     });
 
+    // The list is paged, so the filters are applied on the server; typing is debounced
     useEffect(() => {
-        loadCases();
-    }, []);
+        const timer = setTimeout(() => loadCases(), 300);
+        return () => clearTimeout(timer);
+    }, [statusFilter, assignedToFilter, openedFrom, openedTo]);
 
-    const loadCases = async () => {
+    // Loads the first page, or appends the page after cursor
+    const loadCases = async (cursor) => {
         setLoading(true);
         try {
-            const data = await caseService.getAllCases();
-            setCases(data);
+            const page = await caseService.getCases({
+                status: statusFilter === 'all' ? undefined : statusFilter,
+                assignedToId: assignedToFilter || undefined,
+                openedFrom: openedFrom || undefined,
+                openedTo: openedTo || undefined
+            }, cursor);
+            setCases(previous => (cursor ? [...previous, ...page.items] : page.items));
+            setNextCursor(page.hasMore ? page.nextCursor : null);
         } catch (error) {
             console.error('Failed to load cases:', error);
         } finally {
@@ -125,13 +136,6 @@ const CasesPage = () => {
         });
     };
 
-    const filteredCases = cases.filter(caseItem => {
-        const matchesSearch = caseItem.crimeReport?.title?.toLowerCase().includes(searchTerm.toLowerCase()) ||
-                            caseItem.notes?.toLowerCase().includes(searchTerm.toLowerCase());
-        const matchesStatus = statusFilter === 'all' || caseItem.status === statusFilter;
-        return matchesSearch && matchesStatus;
-    });
-
     const getStatusColor = (status) => {
         switch (status) {
             case 'Open': return 'warning';
@@ -157,17 +161,6 @@ const CasesPage = () => {
             {/* Filters */}
             <Paper sx={{ p: 2, mb: 3 }}>
                 <Grid container spacing={2} alignItems="center">
-                    <Grid item xs={12} md={4}>
-                        <TextField
-                            fullWidth
-                            label="Search cases"
-                            value={searchTerm}
-                            onChange={(e) => setSearchTerm(e.target.value)}
-                            InputProps={{
-                                startAdornment: <SearchIcon sx={{ mr: 1, color: 'text.secondary' }} />
-                            }}
-                        />
-                    </Grid>
                     <Grid item xs={12} md={3}>
                         <FormControl fullWidth>
                             <InputLabel>Status</InputLabel>
@@ -184,8 +177,37 @@ const CasesPage = () => {
                         </FormControl>
                     </Grid>
                     <Grid item xs={12} md={2}>
+                        <TextField
+                            fullWidth
+                            label="Assigned To ID"
+                            type="number"
+                            value={assignedToFilter}
+                            onChange={(e) => setAssignedToFilter(e.target.value)}
+                        />
+                    </Grid>
+                    <Grid item xs={6} md={2}>
+                        <TextField
+                            fullWidth
+                            label="Opened From"
+                            type="date"
+                            value={openedFrom}
+                            onChange={(e) => setOpenedFrom(e.target.value)}
+                            InputLabelProps={{ shrink: true }}
+                        />
+                    </Grid>
+                    <Grid item xs={6} md={2}>
+                        <TextField
+                            fullWidth
+                            label="Opened To"
+                            type="date"
+                            value={openedTo}
+                            onChange={(e) => setOpenedTo(e.target.value)}
+                            InputLabelProps={{ shrink: true }}
+                        />
+                    </Grid>
+                    <Grid item xs={12} md={3}>
                         <Typography variant="body2" color="text.secondary">
-                            {filteredCases.length} cases found
+                            {cases.length}{nextCursor ? '+' : ''} cases found
                         </Typography>
                     </Grid>
                 </Grid>
@@ -206,7 +228,7 @@ const CasesPage = () => {
                         </TableRow>
                     </TableHead>
                     <TableBody>
-                        {filteredCases.map((caseItem) => (
+                        {cases.map((caseItem) => (
                             <TableRow key={caseItem.id}>
                                 <TableCell>#{caseItem.id}</TableCell>
                                 <TableCell>
@@ -253,6 +275,14 @@ const CasesPage = () => {
                 </Table>
             </TableContainer>
 
+            {nextCursor && (
+                <Box display="flex" justifyContent="center" mt={2}>
+                    <Button variant="outlined" disabled={loading} onClick={() => loadCases(nextCursor)}>
+                        Load more
+                    </Button>
+                </Box>
+            )}
+
             {/* Add/Edit Dialog */}
             <Dialog open={openDialog} onClose={() => setOpenDialog(false)} maxWidth="md" fullWidth>
                 <DialogTitle>
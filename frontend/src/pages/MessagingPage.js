@@ -50,6 +50,7 @@ const MessagingPage = () => {
         subject: '',
         content: ''
     });
+    const [streamedMessage, setStreamedMessage] = useState(null);
     const currentUser = authService.getCurrentUser();
 
     useEffect(() => {
@@ -63,6 +64,17 @@ const MessagingPage = () => {
         }
     }, [selectedUser]);
 
+    // One push stream for the page's lifetime instead of polling
+    useEffect(() => messageService.subscribe(setStreamedMessage), []);
+
+    useEffect(() => {
+        if (!streamedMessage) return;
+        loadMessages();
+        if (selectedUser && streamedMessage.sender?.id === selectedUser.id) {
+            loadConversation();
+        }
+    }, [streamedMessage]);
+
     const loadMessages = async () => {
         try {
             const data = await messageService.getAllMessages();
@@ -220,7 +232,7 @@ const MessagingPage = () => {
                                 {/* Messages */}
                                 <Box sx={{ flex: 1, overflow: 'auto', p: 2 }}>
                                     {conversation.map((message) => {
-                                        const isOwnMessage = message.senderId === currentUser?.id;
+                                        const isOwnMessage = message.sender?.id === currentUser?.id;
                                         return (
                                             <Box
                                                 key={message.id}
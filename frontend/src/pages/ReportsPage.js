@@ -42,6 +42,7 @@ const ReportsPage = () => {
     const [editingReport, setEditingReport] = useState(null);
     const [searchTerm, setSearchTerm] = useState('');
     const [statusFilter, setStatusFilter] = useState('all');
+    const [nextCursor, setNextCursor] = useState(null);
 
     const [formData, setFormData] = useState({
         title: '',
@@ -52,15 +53,23 @@ const ReportsPage = () => {
         status: 'Open'
     });
 
+    // The list is paged, so filtering and search run on the server; typing is debounced
     useEffect(() => {
-        loadReports();
-    }, []);
+        const timer = setTimeout(() => loadReports(), 300);
+        return () => clearTimeout(timer);
+    }, [searchTerm, statusFilter]);
 
-    const loadReports = async () => {
+    // Loads the first page, or appends the page after cursor
+    const loadReports = async (cursor) => {
         setLoading(true);
         try {
-            const data = await reportService.getAllReports();
-            setReports(data);
+            const filters = { status: statusFilter === 'all' ? undefined : statusFilter, cursor };
+            const query = searchTerm.trim();
+            const page = query
+                ? await reportService.searchReports(query, filters)
+                : await reportService.getReports(filters);
+            setReports(previous => (cursor ? [...previous, ...page.items] : page.items));
+            setNextCursor(page.hasMore ? page.nextCursor : null);
         } catch (error) {
             console.error('Failed to load reports:', error);
         } finally {
@@ -120,13 +129,6 @@ const ReportsPage = () => {
         });
     };
 
-    const filteredReports = reports.filter(report => {
-        const matchesSearch = report.title.toLowerCase().includes(searchTerm.toLowerCase()) ||
-                            report.description?.toLowerCase().includes(searchTerm.toLowerCase());
-        const matchesStatus = statusFilter === 'all' || report.status === statusFilter;
-        return matchesSearch && matchesStatus;
-    });
-
     const getStatusColor = (status) => {
         switch (status) {
             case 'Open': return 'warning';
@@ -180,7 +182,7 @@ const ReportsPage = () => {
                     </Grid>
                     <Grid item xs={12} md={2}>
                         <Typography variant="body2" color="text.secondary">
-                            {filteredReports.length} reports found
+                            {reports.length}{nextCursor ? '+' : ''} reports found
                         </Typography>
                     </Grid>
                 </Grid>
@@ -201,7 +203,7 @@ const ReportsPage = () => {
                         </TableRow>
                     </TableHead>
                     <TableBody>
-                        {filteredReports.map((report) => (
+                        {reports.map((report) => (
                             <TableRow key={report.id}>
                                 <TableCell>{report.title}</TableCell>
                                 <TableCell>
@@ -234,6 +236,14 @@ const ReportsPage = () => {
                 </Table>
             </TableContainer>
 
+            {nextCursor && (
+                <Box display="flex" justifyContent="center" mt={2}>
+                    <Button variant="outlined" disabled={loading} onClick={() => loadReports(nextCursor)}>
+                        Load more
+                    </Button>
+                </Box>
+            )}
+
             {/* Add/Edit Dialog */}
             <Dialog open={openDialog} onClose={() => setOpenDialog(false)} maxWidth="md" fullWidth>
                 <DialogTitle>
@@ -1,9 +1,11 @@
 import api from './api';
 
 class CaseService {
-    async getAllCases() {
+    // One page of cases matching filters (status, assignedToId, categoryId, openedFrom, openedTo,
+    // closedFrom, closedTo), newest first; pass nextCursor back as cursor for the next page
+    async getCases(filters = {}, cursor) {
         try {
-            const response = await api.get('/cases');
+            const response = await api.get('/cases', { params: { ...filters, cursor } });
             return response.data;
         } catch (error) {
             throw new Error('Failed to fetch cases');
@@ -45,24 +47,6 @@ class CaseService {
         }
     }
 
-    async getCasesByStatus(status) {
-        try {
-            const response = await api.get(`/cases/status/${status}`);
-            return response.data;
-        } catch (error) {
-            throw new Error('Failed to fetch cases by status');
-        }
-    }
-
-    async getCasesByAssignedTo(assignedToId) {
-        try {
-            const response = await api.get(`/cases/assigned/${assignedToId}`);
-            return response.data;
-        } catch (error) {
-            throw new Error('Failed to fetch cases by assigned user');
-        }
-    }
-
     async closeCase(id) {
         try {
             const response = await api.put(`/cases/${id}/close`);
@@ -1,4 +1,8 @@
 import api from './api';
+import authService from './authService';
+
+const STREAM_URL = `${api.defaults.baseURL}/messages/stream`;
+const RECONNECT_DELAY_MS = 3000;
 
 class MessageService {
     async getAllMessages() {
@@ -57,7 +61,8 @@ class MessageService {
     async getMessagesBetweenUsers(user1Id, user2Id) {
         try {
             const response = await api.get(`/messages/conversation/${user1Id}/${user2Id}`);
-            return response.data;
+            // Pages come newest first; the conversation view reads oldest first
+            return response.data.items.slice().reverse();
         } catch (error) {
             throw new Error('Failed to fetch conversation');
         }
@@ -80,6 +85,91 @@ class MessageService {
             throw new Error('Failed to mark message as read');
         }
     }
+
+    // Omit messageIds to mark every unread message of the current user
+    async markManyAsRead(messageIds) {
+        try {
+            const response = await api.put('/messages/read', { messageIds });
+            return response.data;
+        } catch (error) {
+            throw new Error('Failed to mark messages as read');
+        }
+    }
+
+    async broadcast(broadcastData) {
+        try {
+            const response = await api.post('/messages/broadcast', broadcastData);
+            return response.data;
+        } catch (error) {
+            throw new Error('Failed to broadcast message');
+        }
+    }
+
+    // Server-Sent Events push of received messages. EventSource cannot send the
+    // Authorization header, so the stream is read with fetch. Reconnects resume from
+    // the last event id; returns a function that closes the stream.
+    subscribe(onMessage) {
+        const controller = new AbortController();
+        let lastEventId = null;
+
+        const connect = async () => {
+            while (!controller.signal.aborted) {
+                try {
+                    const headers = { Authorization: `Bearer ${authService.getToken()}` };
+                    if (lastEventId) {
+                        headers['Last-Event-ID'] = lastEventId;
+                    }
+                    const response = await fetch(STREAM_URL, { headers, signal: controller.signal });
+                    if (response.status === 401) {
+                        return;
+                    }
+                    const reader = response.body.getReader();
+                    const decoder = new TextDecoder();
+                    let buffer = '';
+                    for (;;) {
+                        const { done, value } = await reader.read();
+                        if (done) {
+                            break;
+                        }
+                        buffer += decoder.decode(value, { stream: true });
+                        let boundary;
+                        while ((boundary = buffer.indexOf('\n\n')) >= 0) {
+                            const event = parseEvent(buffer.slice(0, boundary));
+                            buffer = buffer.slice(boundary + 2);
+                            if (event.id) {
+                                lastEventId = event.id;
+                            }
+                            if (event.name === 'message' && event.data) {
+                                onMessage(JSON.parse(event.data));
+                            }
+                        }
+                    }
+                } catch (error) {
+                    if (controller.signal.aborted) {
+                        return;
+                    }
+                }
+                await new Promise(resolve => setTimeout(resolve, RECONNECT_DELAY_MS));
+            }
+        };
+
+        connect();
+        return () => controller.abort();
+    }
 }
 
+const parseEvent = (block) => {
+    const event = { id: null, name: 'message', data: '' };
+    block.split('\n').forEach(line => {
+        if (line.startsWith('id:')) {
+            event.id = line.slice(3).trim();
+        } else if (line.startsWith('event:')) {
+            event.name = line.slice(6).trim();
+        } else if (line.startsWith('data:')) {
+            event.data += (event.data ? '\n' : '') + line.slice(5).replace(/^ /, '');
+        }
+    });
+    return event;
+};
+
 export default new MessageService(); 
\ No newline at end of file
@@ -1,15 +1,28 @@
 import api from './api';
 
 class ReportService {
-    async getAllReports() {
+    // One page of reports, newest first; pass nextCursor back as cursor for the next page
+    async getReports({ status, categoryId, cursor } = {}) {
         try {
-            const response = await api.get('/reports');
+            const response = await api.get('/reports', { params: { status, categoryId, cursor } });
             return response.data;
         } catch (error) {
             throw new Error('Failed to fetch reports');
         }
     }
 
+    // One page of full-text matches, best first, in the same shape as getReports
+    async searchReports(query, { status, categoryId, cursor } = {}) {
+        try {
+            const response = await api.get('/search/reports', {
+                params: { q: query, status, categoryId, cursor }
+            });
+            return { ...response.data, items: response.data.items.map(hit => hit.report) };
+        } catch (error) {
+            throw new Error('Failed to search reports');
+        }
+    }
+
     async getReportById(id) {
         try {
             const response = await api.get(`/reports/${id}`);
@@ -44,24 +57,6 @@ class ReportService {
             throw new Error('Failed to delete report');
         }
     }
-
-    async getReportsByStatus(status) {
-        try {
-            const response = await api.get(`/reports/status/${status}`);
-            return response.data;
-        } catch (error) {
-            throw new Error('Failed to fetch reports by status');
-        }
-    }
-
-    async getReportsByCategory(categoryId) {
-        try {
-            const response = await api.get(`/reports/category/${categoryId}`);
-            return response.data;
-        } catch (error) {
-            throw new Error('Failed to fetch reports by category');
-        }
-    }
 }
 
 export default new ReportService(); 
\ No newline at end of file